@@ -0,0 +1,96 @@
+package ru.practicum.shareit.benchmark;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.StatusOfBooking;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Генерация сущностей для бенчмарков. Данные детерминированы, чтобы прогоны были сравнимы.
+ */
+public final class BenchmarkData {
+    public static final LocalDateTime NOW = LocalDateTime.of(2023, 6, 1, 12, 0);
+    private static final String[] WORDS = {"меч", "доспех", "штаны", "дрель", "лестница", "палатка", "велосипед",
+            "котелок", "школы", "волка", "грифона", "стальной", "улучшенный", "походный", "складной"};
+
+    private BenchmarkData() {
+    }
+
+    public static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setName("user" + id);
+        user.setEmail("user" + id + "@ya.ru");
+        return user;
+    }
+
+    public static List<Item> items(int count, User owner) {
+        Random random = new Random(count);
+        List<Item> items = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            Item item = new Item();
+            item.setId(id);
+            item.setName(words(random, 2));
+            item.setDescription(words(random, 6));
+            item.setAvailable(random.nextInt(10) > 0);
+            item.setOwner(owner);
+            items.add(item);
+        }
+        return items;
+    }
+
+    /**
+     * Бронирования одной вещи: подряд идущие сутки со случайными промежутками, вокруг NOW
+     */
+    public static List<Booking> bookings(int count, Item item, User booker) {
+        Random random = new Random(count);
+        List<Booking> bookings = new ArrayList<>(count);
+        LocalDateTime start = NOW.minusDays(count);
+        for (long id = 1; id <= count; id++) {
+            Booking booking = new Booking();
+            booking.setId(id);
+            booking.setStart(start);
+            booking.setEnd(start.plusHours(12));
+            booking.setItem(item);
+            booking.setBooker(booker);
+            booking.setStatus(random.nextInt(4) > 0 ? StatusOfBooking.APPROVED : StatusOfBooking.REJECTED);
+            bookings.add(booking);
+            start = start.plusDays(1 + random.nextInt(2));
+        }
+        return bookings;
+    }
+
+    public static List<Comment> comments(List<Item> items, int perItem, User author) {
+        List<Comment> comments = new ArrayList<>(items.size() * perItem);
+        long id = 1;
+        for (Item item : items) {
+            for (int i = 0; i < perItem; i++) {
+                Comment comment = new Comment();
+                comment.setId(id++);
+                comment.setText("Отличная вещь, рекомендую " + id);
+                comment.setItem(item);
+                comment.setAuthor(author);
+                comment.setCreated(NOW.minusDays(i));
+                comments.add(comment);
+            }
+        }
+        return comments;
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            builder.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return builder.toString();
+    }
+}
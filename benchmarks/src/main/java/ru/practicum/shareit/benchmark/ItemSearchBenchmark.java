@@ -0,0 +1,44 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Поиск вещей по подстроке в поисковом индексе
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemSearchBenchmark {
+    private static final Pageable PAGE = PageRequest.of(0, 20);
+
+    @Param({"1000", "100000"})
+    int items;
+
+    @Param({"дрель", "школы волка", "ме"})
+    String text;
+
+    ItemSearchIndex searchIndex;
+
+    @Setup
+    public void setUp() {
+        searchIndex = new ItemSearchIndex();
+        List<ItemDto> itemDtos = ItemMapper.fromListOfItemToDto(BenchmarkData.items(items, BenchmarkData.user(1)));
+        searchIndex.warmUp(() -> itemDtos);
+    }
+
+    @Benchmark
+    public List<ItemDto> search() {
+        return searchIndex.search(text, PAGE);
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingDtoOut;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.comment.CommentDto;
+import ru.practicum.shareit.item.comment.CommentMapper;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Преобразование списков сущностей в DTO мапперами
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    @Param({"10", "100", "10000"})
+    int size;
+
+    List<Item> items;
+    List<Booking> bookings;
+    List<Comment> comments;
+
+    @Setup
+    public void setUp() {
+        User owner = BenchmarkData.user(1);
+        User booker = BenchmarkData.user(2);
+        items = BenchmarkData.items(size, owner);
+        bookings = BenchmarkData.bookings(size, items.get(0), booker);
+        comments = BenchmarkData.comments(items.subList(0, 1), size, booker);
+    }
+
+    @Benchmark
+    public List<ItemDto> items() {
+        return ItemMapper.fromListOfItemToDto(items);
+    }
+
+    @Benchmark
+    public List<BookingDtoOut> bookings() {
+        return BookingMapper.fromListOfBookingToDtoOut(bookings);
+    }
+
+    @Benchmark
+    public List<CommentDto> comments() {
+        return CommentMapper.fromListOfCommentToDto(comments);
+    }
+}
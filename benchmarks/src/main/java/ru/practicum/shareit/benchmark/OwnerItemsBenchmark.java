@@ -0,0 +1,132 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.comment.CommentRepository;
+import ru.practicum.shareit.item.comment.CommentView;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.ItemWithBookings;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserIdIndex;
+import ru.practicum.shareit.user.service.UserValidator;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Сборка ответа GET /items в ItemServiceImpl.getAllByOwner: преобразование проекций с бронированиями
+ * и раскладка отзывов по вещам. Репозитории заменены заглушками, возвращающими готовые данные,
+ * поэтому измеряется только работа сервиса в памяти.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OwnerItemsBenchmark {
+    private static final int COMMENTS_PER_ITEM = 5;
+
+    @Param({"10", "100", "10000"})
+    int items;
+
+    ItemServiceImpl itemService;
+
+    @Setup
+    public void setUp() {
+        User owner = BenchmarkData.user(1);
+        User author = BenchmarkData.user(2);
+        List<Item> ownerItems = BenchmarkData.items(items, owner);
+        List<ItemWithBookings> itemsWithBookings = ownerItems.stream()
+                .map(item -> withBookings(item, author))
+                .collect(Collectors.toList());
+        List<CommentView> comments = BenchmarkData.comments(ownerItems, COMMENTS_PER_ITEM, author).stream()
+                .map(comment -> new CommentView(comment.getId(), comment.getItem().getId(), comment.getText(),
+                        comment.getAuthor().getName(), comment.getCreated()))
+                .collect(Collectors.toList());
+
+        itemService = new ItemServiceImpl(
+                stub(ItemRepository.class, "findAllWithBookingsByOwnerId", itemsWithBookings),
+                new UserValidator(stub(UserRepository.class, null, null), new UserIdIndex()),
+                stub(BookingRepository.class, null, null),
+                stub(CommentRepository.class, "findAllByItemIdIn", comments),
+                stub(ItemRequestRepository.class, null, null),
+                new StaticListableBeanFactory().getBeanProvider(ItemSearchIndex.class));
+    }
+
+    @Benchmark
+    public List<ItemDto> getAllByOwner() {
+        return itemService.getAllByOwner(1L, PageRequest.of(0, items));
+    }
+
+    /**
+     * Строка результата запроса вещей владельца: у каждой вещи есть последнее бронирование, у четных - следующее
+     */
+    private static ItemWithBookings withBookings(Item item, User booker) {
+        boolean hasNext = item.getId() % 2 == 0;
+        return new ItemWithBookings() {
+            public Long getId() {
+                return item.getId();
+            }
+
+            public String getName() {
+                return item.getName();
+            }
+
+            public String getDescription() {
+                return item.getDescription();
+            }
+
+            public Boolean getAvailable() {
+                return item.getAvailable();
+            }
+
+            public Long getOwnerId() {
+                return item.getOwner().getId();
+            }
+
+            public Long getRequestId() {
+                return null;
+            }
+
+            public Long getLastBookingId() {
+                return item.getId() * 2;
+            }
+
+            public Long getLastBookerId() {
+                return booker.getId();
+            }
+
+            public Long getNextBookingId() {
+                return hasNext ? item.getId() * 2 + 1 : null;
+            }
+
+            public Long getNextBookerId() {
+                return hasNext ? booker.getId() : null;
+            }
+        };
+    }
+
+    /**
+     * Заглушка репозитория: метод с заданным именем возвращает готовый результат, остальные не поддерживаются
+     */
+    private static <T> T stub(Class<T> repository, String method, Object result) {
+        return repository.cast(Proxy.newProxyInstance(repository.getClassLoader(), new Class<?>[]{repository},
+                (proxy, invoked, args) -> {
+                    if (invoked.getName().equals(method)) {
+                        return result;
+                    }
+                    throw new UnsupportedOperationException(invoked.getName());
+                }));
+    }
+}
@@ -0,0 +1,237 @@
+package ru.practicum.shareit.benchmark;
+
+import org.flywaydb.core.Flyway;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingView;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.comment.CommentMapper;
+import ru.practicum.shareit.item.comment.CommentRepository;
+import ru.practicum.shareit.item.comment.CommentView;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.ItemView;
+import ru.practicum.shareit.request.RequestMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.request.repository.RequestView;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Чтение страницы из 100 строк для бронирований владельца, поиска вещей, чужих запросов с вещами
+ * и отзывов: загрузка сущностей с преобразованием в DTO против проекций репозиториев
+ * (BookingView, ItemView, RequestView, CommentView). База H2 в памяти со схемой из миграций,
+ * сессия только для чтения, как в @Transactional(readOnly = true), и очищается после каждой страницы.
+ * Кэш второго уровня выключен, поэтому сущности владельца и автора запроса читаются из БД.
+ * Выделение памяти на операцию (gc.alloc.rate.norm) выводится с профилировщиком:
+ * java -jar benchmarks.jar Projection -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectionBenchmark {
+    private static final int PAGE = 100;
+    private static final String BOOKINGS = "SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker " +
+            "WHERE i.owner.id = :userId ORDER BY b.start DESC";
+    private static final String BOOKING_VIEWS = BookingRepository.BOOKING_VIEW +
+            "WHERE i.owner.id = :userId ORDER BY b.start DESC";
+    private static final String ITEMS = "SELECT i FROM Item i WHERE i.available = true ORDER BY i.id";
+    private static final String ITEM_VIEWS = ItemRepository.ITEM_VIEW + "WHERE i.available = true ORDER BY i.id";
+    private static final String REQUESTS = "SELECT r FROM ItemRequest r WHERE r.requester.id <> :userId " +
+            "ORDER BY r.created DESC";
+    private static final String REQUEST_VIEWS = ItemRequestRepository.REQUEST_VIEW +
+            "WHERE r.requester.id <> :userId ORDER BY r.created DESC";
+    private static final String REQUESTED_ITEMS = "SELECT i FROM Item i WHERE i.itemRequest.id IN :ids ORDER BY i.id";
+    private static final String REQUESTED_ITEM_VIEWS = ItemRepository.ITEM_VIEW +
+            "WHERE i.itemRequest.id IN :ids ORDER BY i.id";
+    private static final String COMMENTS = "SELECT c FROM Comment c WHERE c.item.id IN :ids ORDER BY c.id";
+    private static final String COMMENT_VIEWS = CommentRepository.COMMENT_VIEW +
+            "WHERE c.item.id IN :ids ORDER BY c.id";
+
+    @Param({"bookings", "items", "requests", "comments"})
+    String page;
+
+    EntityManagerFactory entityManagerFactory;
+    EntityManager entityManager;
+    long ownerId;
+    List<Long> itemIds;
+
+    @Setup
+    public void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:projection;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common")
+                .load()
+                .migrate();
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan("ru.practicum.shareit");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.dialect", "org.hibernate.dialect.H2Dialect",
+                "hibernate.cache.use_second_level_cache", "false"));
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+
+        seed();
+        entityManager = entityManagerFactory.createEntityManager();
+        Session session = entityManager.unwrap(Session.class);
+        session.setDefaultReadOnly(true);
+        session.setHibernateFlushMode(FlushMode.MANUAL);
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.close();
+        entityManagerFactory.close();
+    }
+
+    @Benchmark
+    public List<?> entities() {
+        try {
+            switch (page) {
+                case "bookings":
+                    return BookingMapper.fromListOfBookingToDtoOut(entityManager.createQuery(BOOKINGS, Booking.class)
+                            .setParameter("userId", ownerId)
+                            .setMaxResults(PAGE)
+                            .getResultList());
+                case "items":
+                    return ItemMapper.fromListOfItemToDto(entityManager.createQuery(ITEMS, Item.class)
+                            .setMaxResults(PAGE)
+                            .getResultList());
+                case "requests":
+                    List<ItemRequest> requests = entityManager.createQuery(REQUESTS, ItemRequest.class)
+                            .setParameter("userId", ownerId)
+                            .setMaxResults(PAGE)
+                            .getResultList();
+                    Map<Long, List<Item>> items = entityManager.createQuery(REQUESTED_ITEMS, Item.class)
+                            .setParameter("ids", ids(requests, ItemRequest::getId))
+                            .getResultList().stream()
+                            .collect(Collectors.groupingBy(item -> item.getItemRequest().getId()));
+                    return requests.stream()
+                            .map(request -> RequestMapper.fromRequestToDtoWithItemsOut(
+                                    request, items.getOrDefault(request.getId(), Collections.emptyList())))
+                            .collect(Collectors.toList());
+                default:
+                    return CommentMapper.fromListOfCommentToDto(entityManager.createQuery(COMMENTS, Comment.class)
+                            .setParameter("ids", itemIds)
+                            .getResultList());
+            }
+        } finally {
+            entityManager.clear();
+        }
+    }
+
+    @Benchmark
+    public List<?> projections() {
+        try {
+            switch (page) {
+                case "bookings":
+                    return BookingMapper.fromListOfBookingViewToDtoOut(entityManager
+                            .createQuery(BOOKING_VIEWS, BookingView.class)
+                            .setParameter("userId", ownerId)
+                            .setMaxResults(PAGE)
+                            .getResultList());
+                case "items":
+                    return entityManager.createQuery(ITEM_VIEWS, ItemView.class)
+                            .setMaxResults(PAGE)
+                            .getResultList().stream()
+                            .map(ItemMapper::fromItemViewToDto)
+                            .collect(Collectors.toList());
+                case "requests":
+                    List<RequestView> requests = entityManager.createQuery(REQUEST_VIEWS, RequestView.class)
+                            .setParameter("userId", ownerId)
+                            .setMaxResults(PAGE)
+                            .getResultList();
+                    Map<Long, List<ItemView>> items = entityManager
+                            .createQuery(REQUESTED_ITEM_VIEWS, ItemView.class)
+                            .setParameter("ids", ids(requests, RequestView::getId))
+                            .getResultList().stream()
+                            .collect(Collectors.groupingBy(ItemView::getRequestId));
+                    return requests.stream()
+                            .map(request -> RequestMapper.fromRequestViewToDtoWithItemsOut(
+                                    request, items.getOrDefault(request.getId(), Collections.emptyList())))
+                            .collect(Collectors.toList());
+                default:
+                    return CommentMapper.fromListOfCommentViewToDto(entityManager
+                            .createQuery(COMMENT_VIEWS, CommentView.class)
+                            .setParameter("ids", itemIds)
+                            .getResultList());
+            }
+        } finally {
+            entityManager.clear();
+        }
+    }
+
+    /**
+     * Владелец сотни вещей, каждая создана по запросу второго пользователя,
+     * забронирована им дважды и получила от него отзыв
+     */
+    private void seed() {
+        EntityManager writer = entityManagerFactory.createEntityManager();
+        writer.getTransaction().begin();
+        User owner = BenchmarkData.user(1);
+        User booker = BenchmarkData.user(2);
+        owner.setId(null);
+        booker.setId(null);
+        writer.persist(owner);
+        writer.persist(booker);
+
+        List<Item> items = BenchmarkData.items(PAGE, owner);
+        for (int i = 0; i < items.size(); i++) {
+            ItemRequest request = new ItemRequest();
+            request.setDescription("Нужна вещь " + i);
+            request.setRequester(booker);
+            request.setCreated(BenchmarkData.NOW.minusMinutes(i));
+            writer.persist(request);
+
+            Item item = items.get(i);
+            item.setId(null);
+            item.setAvailable(true);
+            item.setItemRequest(request);
+            writer.persist(item);
+            for (Booking booking : BenchmarkData.bookings(2, item, booker)) {
+                booking.setId(null);
+                writer.persist(booking);
+            }
+        }
+        for (Comment comment : BenchmarkData.comments(items, 1, booker)) {
+            comment.setId(null);
+            writer.persist(comment);
+        }
+        writer.getTransaction().commit();
+        writer.close();
+
+        ownerId = owner.getId();
+        itemIds = ids(items, Item::getId);
+    }
+
+    private static <T> List<Long> ids(List<T> rows, Function<T, Long> id) {
+        return rows.stream()
+                .map(id)
+                .collect(Collectors.toList());
+    }
+}
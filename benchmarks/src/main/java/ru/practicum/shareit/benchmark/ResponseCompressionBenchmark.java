@@ -0,0 +1,91 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingDtoShort;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.comment.CommentMapper;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Передача списка вещей владельца (GET /items) от сервера шлюзу в JSON или Smile: сериализация и сжатие
+ * на сервере, распаковка и разбор на шлюзе. Размеры тела ответа для каждого варианта приведены в README.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseCompressionBenchmark {
+    private static final int COMMENTS_PER_ITEM = 5;
+
+    @Param({"100", "1000"})
+    int size;
+
+    @Param({"json", "smile"})
+    String format;
+
+    @Param({"identity", "gzip"})
+    String encoding;
+
+    ObjectMapper objectMapper;
+    List<ItemDto> items;
+    byte[] body;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = ("smile".equals(format) ? new ObjectMapper(new SmileFactory()) : new ObjectMapper())
+                .findAndRegisterModules();
+        User owner = BenchmarkData.user(1);
+        User booker = BenchmarkData.user(2);
+        List<Item> entities = BenchmarkData.items(size, owner);
+        items = ItemMapper.fromListOfItemToDto(entities);
+        for (int i = 0; i < size; i++) {
+            ItemDto item = items.get(i);
+            item.setComments(CommentMapper.fromListOfCommentToDto(
+                    BenchmarkData.comments(entities.subList(i, i + 1), COMMENTS_PER_ITEM, booker)));
+            item.setLastBooking(booking(2L * i + 1, booker));
+            item.setNextBooking(booking(2L * i + 2, booker));
+        }
+        body = encode();
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (OutputStream out = "gzip".equals(encoding) ? new GZIPOutputStream(buffer) : buffer) {
+            objectMapper.writeValue(out, items);
+        }
+        return buffer.toByteArray();
+    }
+
+    @Benchmark
+    public JsonNode decode() throws IOException {
+        InputStream in = new ByteArrayInputStream(body);
+        try (InputStream decoded = "gzip".equals(encoding) ? new GZIPInputStream(in) : in) {
+            return objectMapper.readTree(decoded);
+        }
+    }
+
+    private static BookingDtoShort booking(long id, User booker) {
+        BookingDtoShort booking = new BookingDtoShort();
+        booking.setId(id);
+        booking.setBookerId(booker.getId());
+        return booking;
+    }
+}
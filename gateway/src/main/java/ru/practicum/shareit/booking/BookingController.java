@@ -2,6 +2,7 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -11,8 +12,10 @@ import ru.practicum.shareit.constants.HeaderConstants;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.Positive;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 @Slf4j
@@ -46,8 +49,9 @@ public class BookingController {
             @RequestHeader(HeaderConstants.X_SHARER_USER_ID) long userId,
             @RequestParam(defaultValue = HeaderConstants.DEFAULT_STATE_VALUE) @Valid StateOfBooking state,
             @RequestParam(defaultValue = HeaderConstants.DEFAULT_FROM_VALUE) @Min(0) int from,
-            @RequestParam(defaultValue = HeaderConstants.DEFAULT_SIZE_VALUE) int size) {
-        return bookingClient.getAllBookingByUser(userId, state, from, size);
+            @RequestParam(defaultValue = HeaderConstants.DEFAULT_SIZE_VALUE) @Positive int size,
+            @RequestParam(required = false) String cursor) {
+        return bookingClient.getAllBookingByUser(userId, state, from, size, cursor);
     }
 
     @GetMapping("/owner")
@@ -55,8 +59,9 @@ public class BookingController {
             @RequestHeader(HeaderConstants.X_SHARER_USER_ID) long userId,
             @RequestParam(defaultValue = HeaderConstants.DEFAULT_STATE_VALUE) @Valid StateOfBooking state,
             @RequestParam(defaultValue = HeaderConstants.DEFAULT_FROM_VALUE) @Min(0) int from,
-            @RequestParam(defaultValue = HeaderConstants.DEFAULT_SIZE_VALUE) int size) {
-        return bookingClient.getAllBookingsByItemOwner(userId, state, from, size);
+            @RequestParam(defaultValue = HeaderConstants.DEFAULT_SIZE_VALUE) @Positive int size,
+            @RequestParam(required = false) String cursor) {
+        return bookingClient.getAllBookingsByItemOwner(userId, state, from, size, cursor);
     }
 
 }
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingDtoIn;
+import ru.practicum.shareit.booking.dto.StateOfBooking;
+import ru.practicum.shareit.constants.HeaderConstants;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.Positive;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(path = "/bookings")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class ReactiveBookingController {
+    private final ReactiveBookingClient bookingClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> createBooking(@RequestHeader(HeaderConstants.X_SHARER_USER_ID) long userId,
+                                                @Valid @RequestBody BookingDtoIn bookingDtoIn) {
+        log.info("Создание нового бронирования: {}", bookingDtoIn);
+        return bookingClient.createBooking(userId, bookingDtoIn);
+    }
+
+    @PatchMapping("/{bookingId}")
+    public Mono<ResponseEntity<Object>> updateStatus(@PathVariable long bookingId,
+                                               @RequestParam boolean approved,
+                                               @RequestHeader(HeaderConstants.X_SHARER_USER_ID) long userId) {
+        log.info("Изменение статуса бронирования");
+        return bookingClient.updateStatus(userId, approved, bookingId);
+    }
+
+    @GetMapping("/{bookingId}")
+    public Mono<ResponseEntity<Object>> getBooking(@RequestHeader(HeaderConstants.X_SHARER_USER_ID) long userId,
+                                             @PathVariable long bookingId) {
+        return bookingClient.getBooking(userId, bookingId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getAllBookingByUser(
+            @RequestHeader(HeaderConstants.X_SHARER_USER_ID) long userId,
+            @RequestParam(defaultValue = HeaderConstants.DEFAULT_STATE_VALUE) @Valid StateOfBooking state,
+            @RequestParam(defaultValue = HeaderConstants.DEFAULT_FROM_VALUE) @Min(0) int from,
+            @RequestParam(defaultValue = HeaderConstants.DEFAULT_SIZE_VALUE) @Positive int size,
+            @RequestParam(required = false) String cursor) {
+        return bookingClient.getAllBookingByUser(userId, state, from, size, cursor);
+    }
+
+    @GetMapping("/owner")
+    public Mono<ResponseEntity<Object>> getAllBookingsByItemOwner(
+            @RequestHeader(HeaderConstants.X_SHARER_USER_ID) long userId,
+            @RequestParam(defaultValue = HeaderConstants.DEFAULT_STATE_VALUE) @Valid StateOfBooking state,
+            @RequestParam(defaultValue = HeaderConstants.DEFAULT_FROM_VALUE) @Min(0) int from,
+            @RequestParam(defaultValue = HeaderConstants.DEFAULT_SIZE_VALUE) @Positive int size,
+            @RequestParam(required = false) String cursor) {
+        return bookingClient.getAllBookingsByItemOwner(userId, state, from, size, cursor);
+    }
+
+}
@@ -1,18 +1,44 @@
 package ru.practicum.shareit.client;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.springframework.http.*;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class BaseClient {
-    protected final RestTemplate rest;
+    /* Заголовки соединения сервера со шлюзом, длину тела контейнер выставляет сам */
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "transfer-encoding",
+            "content-length", "upgrade", "proxy-connection", "te", "trailer");
+    private static final SmileFactory SMILE_FACTORY = new SmileFactory();
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
 
-    public BaseClient(RestTemplate rest) {
+    protected final RestTemplate rest;
+    private final ResponseCache responseCache;
+    private final String cacheRegion;
+    private final RequestCoalescer requestCoalescer;
+    private final ServerCallGuard serverCallGuard;
+    private final WireFormat wireFormat;
+
+    public BaseClient(RestTemplate rest, ResponseCache responseCache, String cacheRegion,
+                      RequestCoalescer requestCoalescer, ServerCallGuard serverCallGuard, WireFormat wireFormat) {
         this.rest = rest;
+        this.responseCache = responseCache;
+        this.cacheRegion = cacheRegion;
+        this.requestCoalescer = requestCoalescer;
+        this.serverCallGuard = serverCallGuard;
+        this.wireFormat = wireFormat;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -23,8 +49,27 @@ public class BaseClient {
         return get(path, userId, null);
     }
 
+    /**
+     * Одновременные одинаковые GET-запросы выполняются одним обращением к серверу
+     */
     protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+        return requestCoalescer.execute(requestKey(path, userId, parameters),
+                () -> makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null));
+    }
+
+    /**
+     * GET-запрос, ответ на который кэшируется в области клиента для каждого пользователя
+     */
+    protected ResponseEntity<Object> getCached(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return responseCache.get(cacheRegion, requestKey(path, userId, parameters),
+                () -> get(path, userId, parameters));
+    }
+
+    /**
+     * Сброс кэшированных ответов областей, затронутых изменяющим запросом
+     */
+    protected void invalidate(String... cacheRegions) {
+        responseCache.invalidate(cacheRegions);
     }
 
     protected <T> ResponseEntity<Object> post(String path, T body) {
@@ -75,43 +120,87 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    /**
+     * Запрос к серверу выполняется под защитой {@link ServerCallGuard}
+     */
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        return serverCallGuard.execute(cacheRegion, () -> sendRequest(method, path, userId, parameters, body));
+    }
+
+    /**
+     * Ответ сервера передается клиенту как есть: тело читается массивом байт без разбора Jackson
+     * и отдается с исходными статусом, типом содержимого и заголовками.
+     */
+    private <T> ResponseEntity<Object> sendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId, wireFormat));
 
-        ResponseEntity<Object> shareitServerResponse;
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return prepareGatewayResponse(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        return prepareGatewayResponse(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody());
     }
 
-    private HttpHeaders defaultHeaders(Long userId) {
+    private String requestKey(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        URI uri = parameters != null
+                ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path);
+        return uri + "#" + userId;
+    }
+
+    static HttpHeaders defaultHeaders(Long userId, WireFormat wireFormat) {
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.setContentType(wireFormat.getMediaType());
+        headers.setAccept(List.of(wireFormat.getMediaType()));
         if (userId != null) {
             headers.set("X-Sharer-User-Id", String.valueOf(userId));
         }
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+    static ResponseEntity<Object> prepareGatewayResponse(HttpStatus status, @Nullable HttpHeaders headers,
+                                                         @Nullable byte[] body) {
+        HttpHeaders gatewayHeaders = new HttpHeaders();
+        if (headers != null) {
+            headers.forEach((name, values) -> {
+                if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase())) {
+                    gatewayHeaders.put(name, values);
+                }
+            });
         }
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status).headers(gatewayHeaders);
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        if (body != null && body.length > 0) {
+            if (WireFormat.SMILE.getMediaType().includes(gatewayHeaders.getContentType())) {
+                return responseBuilder.contentType(MediaType.APPLICATION_JSON).body(smileToJson(body));
+            }
+            return responseBuilder.body(body);
         }
 
         return responseBuilder.build();
     }
+
+    /**
+     * Потоковое перекодирование Smile в JSON без построения объектов
+     */
+    private static byte[] smileToJson(byte[] smile) {
+        ByteArrayOutputStream json = new ByteArrayOutputStream(smile.length * 2);
+        try (JsonParser parser = SMILE_FACTORY.createParser(smile);
+             JsonGenerator generator = JSON_FACTORY.createGenerator(json)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEvent(parser);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Некорректный ответ сервера в формате Smile", e);
+        }
+        return json.toByteArray();
+    }
 }
@@ -0,0 +1,126 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.util.UriBuilderFactory;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Неблокирующий аналог {@link BaseClient} на WebClient для реактивного режима шлюза.
+ * Ответ сервера так же передается клиенту массивом байт без разбора, ошибки сервера не выбрасываются,
+ * а возвращаются со статусом и телом ответа сервера. Кэш ответов, объединение одинаковых GET-запросов
+ * и {@link ServerCallGuard} работают так же, как в {@link BaseClient}, без блокировки потоков.
+ */
+public class ReactiveBaseClient {
+    private static final UriBuilderFactory URI_BUILDER_FACTORY = new DefaultUriBuilderFactory();
+
+    protected final WebClient webClient;
+    private final ResponseCache responseCache;
+    private final String cacheRegion;
+    private final RequestCoalescer requestCoalescer;
+    private final ServerCallGuard serverCallGuard;
+    private final WireFormat wireFormat;
+
+    public ReactiveBaseClient(WebClient webClient, ResponseCache responseCache, String cacheRegion,
+                              RequestCoalescer requestCoalescer, ServerCallGuard serverCallGuard,
+                              WireFormat wireFormat) {
+        this.webClient = webClient;
+        this.responseCache = responseCache;
+        this.cacheRegion = cacheRegion;
+        this.requestCoalescer = requestCoalescer;
+        this.serverCallGuard = serverCallGuard;
+        this.wireFormat = wireFormat;
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path) {
+        return get(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
+        return get(path, userId, null);
+    }
+
+    /**
+     * Одновременные одинаковые GET-запросы выполняются одним обращением к серверу
+     */
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return requestCoalescer.executeMono(requestKey(path, userId, parameters),
+                () -> makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null));
+    }
+
+    /**
+     * GET-запрос, ответ на который кэшируется в области клиента для каждого пользователя
+     */
+    protected Mono<ResponseEntity<Object>> getCached(String path, Long userId,
+                                                     @Nullable Map<String, Object> parameters) {
+        return responseCache.getMono(cacheRegion, requestKey(path, userId, parameters),
+                () -> get(path, userId, parameters));
+    }
+
+    /**
+     * Сброс кэшированных ответов областей, затронутых изменяющим запросом
+     */
+    protected void invalidate(String... cacheRegions) {
+        responseCache.invalidate(cacheRegions);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
+        return post(path, null, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
+        return post(path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
+        return patch(path, null, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
+        return patch(path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
+    }
+
+    protected Mono<ResponseEntity<Object>> delete(String path) {
+        return makeAndSendRequest(HttpMethod.DELETE, path, null, null, null);
+    }
+
+    /**
+     * Запрос к серверу выполняется под защитой {@link ServerCallGuard}
+     */
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        return serverCallGuard.executeMono(cacheRegion, () -> sendRequest(method, path, userId, parameters, body));
+    }
+
+    private <T> Mono<ResponseEntity<Object>> sendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> headers.addAll(BaseClient.defaultHeaders(userId, wireFormat)));
+        WebClient.RequestHeadersSpec<?> requestWithBody = body != null ? request.bodyValue(body) : request;
+
+        return requestWithBody.exchangeToMono(response -> response.toEntity(byte[].class))
+                .map(response -> BaseClient.prepareGatewayResponse(response.getStatusCode(), response.getHeaders(),
+                        response.getBody()));
+    }
+
+    /**
+     * Ключ запроса для кэша и объединения: адрес относительно сервера и пользователь
+     */
+    private String requestKey(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        URI uri = URI_BUILDER_FACTORY.expand(path, parameters != null ? parameters : Map.of());
+        return cacheRegion + uri + "#" + userId;
+    }
+}
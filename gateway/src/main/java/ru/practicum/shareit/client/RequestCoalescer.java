@@ -0,0 +1,95 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Объединение одновременных одинаковых GET-запросов к серверу (single-flight).
+ * Пока запрос с тем же адресом и пользователем выполняется, остальные ждут его ответ
+ * вместо отдельного обращения к серверу. Ответ не сохраняется после завершения запроса.
+ */
+@Component
+public class RequestCoalescer {
+    private final Map<String, CompletableFuture<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final Counter coalesced;
+
+    public RequestCoalescer(MeterRegistry meterRegistry,
+                            @Value("${shareit-gateway.coalescing.enabled}") boolean enabled) {
+        this.enabled = enabled;
+        this.coalesced = Counter.builder("shareit.gateway.requests.coalesced")
+                .description("Запросы, получившие ответ уже выполнявшегося одинакового запроса")
+                .register(meterRegistry);
+    }
+
+    public ResponseEntity<Object> execute(String key, Supplier<ResponseEntity<Object>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        CompletableFuture<ResponseEntity<Object>> flight = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+        try {
+            ResponseEntity<Object> response = call.get();
+            flight.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Неблокирующий вариант {@link #execute} для реактивного режима шлюза. Если первый запрос отменен
+     * (клиент отключился), ожидавшие его запросы обращаются к серверу сами.
+     */
+    public Mono<ResponseEntity<Object>> executeMono(String key, Supplier<Mono<ResponseEntity<Object>>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        return Mono.defer(() -> {
+            CompletableFuture<ResponseEntity<Object>> flight = new CompletableFuture<>();
+            CompletableFuture<ResponseEntity<Object>> existing = inFlight.putIfAbsent(key, flight);
+            if (existing != null) {
+                coalesced.increment();
+                // отключение одного из ожидающих не должно отменять общий ответ
+                return Mono.fromFuture(existing, true)
+                        .onErrorResume(CancellationException.class, e -> call.get());
+            }
+            return call.get()
+                    .doOnNext(flight::complete)
+                    .doOnError(flight::completeExceptionally)
+                    .doFinally(signal -> {
+                        inFlight.remove(key, flight);
+                        flight.completeExceptionally(new CancellationException());
+                    });
+        });
+    }
+
+    private static ResponseEntity<Object> await(CompletableFuture<ResponseEntity<Object>> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
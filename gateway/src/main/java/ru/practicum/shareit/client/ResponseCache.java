@@ -0,0 +1,126 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Кэш успешных ответов сервера на GET-запросы шлюза.
+ * Ответы хранятся по областям, совпадающим с префиксами API. Ключ включает полный адрес запроса
+ * и пользователя из X-Sharer-User-Id. Изменяющий запрос через этот шлюз сбрасывает затронутые области целиком,
+ * изменения через другие экземпляры шлюза видны не позже чем через время жизни записи.
+ * Вещи владельца и вещь по id не кэшируются: их lastBooking и nextBooking зависят от текущего времени.
+ */
+@Component
+public class ResponseCache {
+    public static final String ITEMS = "/items";
+    public static final String REQUESTS = "/requests";
+    public static final String USERS = "/users";
+
+    private final Map<String, Region> regions = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long maxSize;
+    private final Duration ttl;
+
+    public ResponseCache(MeterRegistry meterRegistry,
+                         @Value("${shareit-gateway.cache.enabled}") boolean enabled,
+                         @Value("${shareit-gateway.cache.max-size}") long maxSize,
+                         @Value("${shareit-gateway.cache.ttl}") Duration ttl) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Ответ из кэша или от сервера. Ответ сервера сохраняется, только если он успешный и область
+     * не была сброшена, пока запрос выполнялся.
+     */
+    public ResponseEntity<Object> get(String region, String key, Supplier<ResponseEntity<Object>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Region cacheRegion = regions.computeIfAbsent(region, this::createRegion);
+        ResponseEntity<Object> cached = cacheRegion.cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = cacheRegion.generation.get();
+        ResponseEntity<Object> response = loader.get();
+        cacheRegion.store(key, response, generation);
+        return response;
+    }
+
+    /**
+     * Неблокирующий вариант {@link #get} для реактивного режима шлюза
+     */
+    public Mono<ResponseEntity<Object>> getMono(String region, String key,
+                                                Supplier<Mono<ResponseEntity<Object>>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        return Mono.defer(() -> {
+            Region cacheRegion = regions.computeIfAbsent(region, this::createRegion);
+            ResponseEntity<Object> cached = cacheRegion.cache.getIfPresent(key);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            long generation = cacheRegion.generation.get();
+            return loader.get().doOnNext(response -> cacheRegion.store(key, response, generation));
+        });
+    }
+
+    /**
+     * Сброс всех ответов указанных областей
+     */
+    public void invalidate(String... regionNames) {
+        for (String regionName : regionNames) {
+            Region region = regions.get(regionName);
+            if (region != null) {
+                region.generation.incrementAndGet();
+                region.cache.invalidateAll();
+            }
+        }
+    }
+
+    private Region createRegion(String name) {
+        Cache<String, ResponseEntity<Object>> cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "shareit.gateway.responses", Tags.of("region", name));
+        return new Region(cache);
+    }
+
+    private static class Region {
+        private final Cache<String, ResponseEntity<Object>> cache;
+        private final AtomicLong generation = new AtomicLong();
+
+        Region(Cache<String, ResponseEntity<Object>> cache) {
+            this.cache = cache;
+        }
+
+        void store(String key, ResponseEntity<Object> response, long generation) {
+            if (response.getStatusCode().is2xxSuccessful()) {
+                cache.put(key, response);
+                if (this.generation.get() != generation) {
+                    cache.invalidate(key);
+                }
+            }
+        }
+    }
+}
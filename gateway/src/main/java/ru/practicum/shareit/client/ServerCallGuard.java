@@ -0,0 +1,288 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.exception.ServerUnavailableException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Защита шлюза от медленного или недоступного сервера. Для каждого клиента (бронирования, вещи,
+ * запросы, пользователи) действуют свои:
+ * <ul>
+ *     <li>автоматический выключатель: при высокой доле ошибок или медленных ответов запросы к серверу
+ *     не отправляются, после паузы пропускается несколько пробных запросов;</li>
+ *     <li>переборка: число одновременных запросов ограничено, поэтому медленный клиент не занимает все потоки;</li>
+ *     <li>адаптивный лимит (AIMD): лимит растет на единицу за окно быстрых ответов и умножается
+ *     на коэффициент при медленном ответе или ошибке.</li>
+ * </ul>
+ * Запрос сверх ограничений завершается ответом 503. В режиме Tomcat запрос ждет места в переборке
+ * не дольше shareit-gateway.resilience.bulkhead.max-wait, в реактивном режиме отклоняется сразу.
+ * Шлюз работает в одном из режимов, поэтому для клиента создается только одна из двух переборок.
+ */
+@Component
+@Slf4j
+public class ServerCallGuard {
+    private final Map<String, Guard> guards = new ConcurrentHashMap<>();
+    private final Map<String, Guard> nonBlockingGuards = new ConcurrentHashMap<>();
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final BulkheadRegistry bulkheads;
+    private final BulkheadRegistry nonBlockingBulkheads;
+    private final MeterRegistry meterRegistry;
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    public ServerCallGuard(
+            MeterRegistry meterRegistry,
+            @Value("${shareit-gateway.resilience.circuit-breaker.failure-rate-threshold}") float failureRateThreshold,
+            @Value("${shareit-gateway.resilience.circuit-breaker.slow-call-duration}") Duration slowCallDuration,
+            @Value("${shareit-gateway.resilience.circuit-breaker.slow-call-rate-threshold}") float slowCallRateThreshold,
+            @Value("${shareit-gateway.resilience.circuit-breaker.sliding-window-size}") int slidingWindowSize,
+            @Value("${shareit-gateway.resilience.circuit-breaker.minimum-calls}") int minimumCalls,
+            @Value("${shareit-gateway.resilience.circuit-breaker.open-duration}") Duration openDuration,
+            @Value("${shareit-gateway.resilience.circuit-breaker.half-open-calls}") int halfOpenCalls,
+            @Value("${shareit-gateway.resilience.bulkhead.max-concurrent-calls}") int maxConcurrentCalls,
+            @Value("${shareit-gateway.resilience.bulkhead.max-wait}") Duration maxWait,
+            @Value("${shareit-gateway.resilience.limit.initial}") int initialLimit,
+            @Value("${shareit-gateway.resilience.limit.min}") int minLimit,
+            @Value("${shareit-gateway.resilience.limit.max}") int maxLimit,
+            @Value("${shareit-gateway.resilience.limit.latency-threshold}") Duration latencyThreshold,
+            @Value("${shareit-gateway.resilience.limit.backoff-ratio}") double backoffRatio) {
+        this.meterRegistry = meterRegistry;
+        this.circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .waitDurationInOpenState(openDuration)
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .build());
+        this.bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(maxWait)
+                .build());
+        // поток цикла событий Netty нельзя занимать ожиданием места в переборке
+        this.nonBlockingBulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(nonBlockingBulkheads).bindTo(meterRegistry);
+    }
+
+    /**
+     * Выполнение запроса к серверу от имени клиента. Ответ 5xx считается ошибкой сервера.
+     *
+     * @throws ServerUnavailableException если запрос отклонен без обращения к серверу
+     */
+    public ResponseEntity<Object> execute(String client, Supplier<ResponseEntity<Object>> call) {
+        return guards.computeIfAbsent(client, name -> new Guard(name, bulkheads)).execute(call);
+    }
+
+    /**
+     * Неблокирующий вариант {@link #execute} для реактивного режима шлюза.
+     * Переборка здесь своя и не ждет освобождения места, а сразу отклоняет запрос:
+     * разрешения берутся в потоке цикла событий. Отклоненный запрос завершается ошибкой
+     * {@link ServerUnavailableException}.
+     */
+    public Mono<ResponseEntity<Object>> executeMono(String client, Supplier<Mono<ResponseEntity<Object>>> call) {
+        return nonBlockingGuards.computeIfAbsent(client, name -> new Guard(name, nonBlockingBulkheads))
+                .executeMono(call);
+    }
+
+    private class Guard {
+        private final String client;
+        private final CircuitBreaker circuitBreaker;
+        private final Bulkhead bulkhead;
+        private final AdaptiveLimit limit;
+        private final Counter circuitOpenRejections;
+        private final Counter bulkheadRejections;
+        private final Counter limitRejections;
+
+        Guard(String client, BulkheadRegistry bulkheadRegistry) {
+            this.client = client;
+            this.circuitBreaker = circuitBreakers.circuitBreaker(client);
+            this.bulkhead = bulkheadRegistry.bulkhead(client);
+            this.limit = new AdaptiveLimit(initialLimit, minLimit, maxLimit, latencyThresholdNanos, backoffRatio);
+            this.circuitOpenRejections = rejections("circuit_open");
+            this.bulkheadRejections = rejections("bulkhead_full");
+            this.limitRejections = rejections("limit");
+            circuitBreaker.getEventPublisher().onStateTransition(event ->
+                    log.warn("Выключатель запросов к {}: {}", client, event.getStateTransition()));
+            Gauge.builder("shareit.gateway.concurrency.limit", limit, AdaptiveLimit::getLimit)
+                    .description("Текущий адаптивный лимит одновременных запросов к серверу")
+                    .tag("client", client)
+                    .register(meterRegistry);
+            Gauge.builder("shareit.gateway.concurrency.in-flight", limit, AdaptiveLimit::getInFlight)
+                    .description("Запросы к серверу в обработке")
+                    .tag("client", client)
+                    .register(meterRegistry);
+        }
+
+        ResponseEntity<Object> execute(Supplier<ResponseEntity<Object>> call) {
+            acquirePermission();
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                ResponseEntity<Object> response = call.get();
+                failed = onResponse(response, System.nanoTime() - start);
+                return response;
+            } catch (Throwable e) {
+                // ошибки вроде OutOfMemoryError тоже учитываются, иначе выключатель не увидит сбой
+                circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+                throw e;
+            } finally {
+                bulkhead.onComplete();
+                limit.release(System.nanoTime() - start, failed);
+            }
+        }
+
+        /**
+         * Разрешения берутся при подписке и возвращаются по завершении или отмене запроса
+         */
+        Mono<ResponseEntity<Object>> executeMono(Supplier<Mono<ResponseEntity<Object>>> call) {
+            return Mono.defer(() -> {
+                acquirePermission();
+                long start = System.nanoTime();
+                AtomicBoolean recorded = new AtomicBoolean();
+                AtomicBoolean failed = new AtomicBoolean(true);
+                return call.get()
+                        .doOnNext(response -> {
+                            recorded.set(true);
+                            failed.set(onResponse(response, System.nanoTime() - start));
+                        })
+                        .doOnError(e -> {
+                            recorded.set(true);
+                            circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+                        })
+                        .doFinally(signal -> {
+                            if (!recorded.get()) {
+                                // запрос отменен клиентом: о состоянии сервера это ничего не говорит
+                                circuitBreaker.releasePermission();
+                                failed.set(false);
+                            }
+                            bulkhead.onComplete();
+                            limit.release(System.nanoTime() - start, failed.get());
+                        });
+            });
+        }
+
+        private void acquirePermission() {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                circuitOpenRejections.increment();
+                throw new ServerUnavailableException("Сервер временно недоступен");
+            }
+            if (!bulkhead.tryAcquirePermission()) {
+                circuitBreaker.releasePermission();
+                bulkheadRejections.increment();
+                throw new ServerUnavailableException("Слишком много одновременных запросов к " + client);
+            }
+            if (!limit.tryAcquire()) {
+                bulkhead.onComplete();
+                circuitBreaker.releasePermission();
+                limitRejections.increment();
+                throw new ServerUnavailableException("Слишком много одновременных запросов к " + client);
+            }
+        }
+
+        /**
+         * Учет ответа сервера в выключателе
+         *
+         * @return true, если ответ считается ошибкой сервера
+         */
+        private boolean onResponse(ResponseEntity<Object> response, long durationNanos) {
+            if (response.getStatusCode().is5xxServerError()) {
+                circuitBreaker.onError(durationNanos, TimeUnit.NANOSECONDS,
+                        new HttpServerErrorException(response.getStatusCode()));
+                return true;
+            }
+            circuitBreaker.onSuccess(durationNanos, TimeUnit.NANOSECONDS);
+            return false;
+        }
+
+        private Counter rejections(String reason) {
+            return Counter.builder("shareit.gateway.requests.rejected")
+                    .description("Запросы, отклоненные шлюзом без обращения к серверу")
+                    .tag("client", client)
+                    .tag("reason", reason)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Лимит одновременных запросов по схеме AIMD
+     */
+    static class AdaptiveLimit {
+        private final int minLimit;
+        private final int maxLimit;
+        private final long latencyThresholdNanos;
+        private final double backoffRatio;
+        private double limit;
+        private int inFlight;
+
+        AdaptiveLimit(int initialLimit, int minLimit, int maxLimit, long latencyThresholdNanos, double backoffRatio) {
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.latencyThresholdNanos = latencyThresholdNanos;
+            this.backoffRatio = backoffRatio;
+            this.limit = initialLimit;
+        }
+
+        synchronized boolean tryAcquire() {
+            if (inFlight >= (int) limit) {
+                return false;
+            }
+            inFlight++;
+            return true;
+        }
+
+        synchronized void release(long latencyNanos, boolean failed) {
+            if (failed || latencyNanos > latencyThresholdNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if (inFlight * 2 >= limit) {
+                // лимит растет, только когда он действительно используется
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+            inFlight--;
+        }
+
+        synchronized double getLimit() {
+            return limit;
+        }
+
+        synchronized double getInFlight() {
+            return inFlight;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.httpcomponents.MicrometerHttpRequestExecutor;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Общий пул HTTP-соединений к серверу для всех клиентов шлюза.
+ * Параметры пула и таймауты задаются свойствами shareit-server.http.*, состояние пула, время ожидания
+ * соединения из пула и время запросов публикуются в метриках actuator.
+ * Apache HttpClient 4 работает только по HTTP/1.1; ответы сервера запрашиваются в gzip и распаковываются клиентом.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class HttpClientConfig {
+    private static final String POOL_NAME = "shareit-server";
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager shareItServerConnectionManager(
+            MeterRegistry meterRegistry,
+            @Value("${shareit-server.http.max-total}") int maxTotal,
+            @Value("${shareit-server.http.max-per-route}") int maxPerRoute,
+            @Value("${shareit-server.http.validate-after-inactivity}") Duration validateAfterInactivity,
+            @Value("${shareit-server.http.time-to-live}") Duration timeToLive) {
+        Timer leaseTimer = Timer.builder("shareit.gateway.http.pool.lease")
+                .description("Время ожидания соединения из пула")
+                .tag("pool", POOL_NAME)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        PoolingHttpClientConnectionManager connectionManager =
+                new TimedConnectionManager(timeToLive, leaseTimer);
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setValidateAfterInactivity((int) validateAfterInactivity.toMillis());
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, POOL_NAME).bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient shareItServerHttpClient(
+            PoolingHttpClientConnectionManager connectionManager,
+            MeterRegistry meterRegistry,
+            @Value("${shareit-server.http.connect-timeout}") Duration connectTimeout,
+            @Value("${shareit-server.http.connection-request-timeout}") Duration connectionRequestTimeout,
+            @Value("${shareit-server.http.read-timeout}") Duration readTimeout,
+            @Value("${shareit-server.http.keep-alive}") Duration keepAlive,
+            @Value("${shareit-server.http.evict-idle-after}") Duration evictIdleAfter,
+            @Value("${shareit-server.http.compression}") boolean compression) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) connectTimeout.toMillis())
+                .setConnectionRequestTimeout((int) connectionRequestTimeout.toMillis())
+                .setSocketTimeout((int) readTimeout.toMillis())
+                .build();
+        HttpClientBuilder builder = HttpClients.custom();
+        if (!compression) {
+            builder.disableContentCompression();
+        }
+        return builder
+                .setConnectionManager(connectionManager)
+                .setConnectionManagerShared(true)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy((response, context) -> keepAlive.toMillis())
+                .evictExpiredConnections()
+                .evictIdleConnections(evictIdleAfter.toMillis(), TimeUnit.MILLISECONDS)
+                .setRequestExecutor(MicrometerHttpRequestExecutor.builder(meterRegistry)
+                        .tags(Tags.of("pool", POOL_NAME))
+                        .build())
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory shareItServerRequestFactory(CloseableHttpClient shareItServerHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(shareItServerHttpClient);
+    }
+
+    /**
+     * Пул, замеряющий время ожидания свободного соединения
+     */
+    private static class TimedConnectionManager extends PoolingHttpClientConnectionManager {
+        private final Timer leaseTimer;
+
+        TimedConnectionManager(Duration timeToLive, Timer leaseTimer) {
+            super(timeToLive.toMillis(), TimeUnit.MILLISECONDS);
+            this.leaseTimer = leaseTimer;
+        }
+
+        @Override
+        public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+            ConnectionRequest request = super.requestConnection(route, state);
+            return new ConnectionRequest() {
+                @Override
+                public HttpClientConnection get(long timeout, TimeUnit timeUnit)
+                        throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                    long start = System.nanoTime();
+                    try {
+                        return request.get(timeout, timeUnit);
+                    } finally {
+                        leaseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    }
+                }
+
+                @Override
+                public boolean cancel() {
+                    return request.cancel();
+                }
+            };
+        }
+    }
+}
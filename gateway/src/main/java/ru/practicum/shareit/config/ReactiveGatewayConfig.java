@@ -0,0 +1,68 @@
+package ru.practicum.shareit.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Реактивный режим шлюза: Reactor Netty в качестве веб-сервера и общий пул соединений к серверу.
+ * Число одновременных вызовов сервера ограничено размером пула и очередью ожидания соединения,
+ * а не числом потоков. С сервером шлюз по умолчанию общается по HTTP/2 без TLS (h2c) со сжатием ответов.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveGatewayConfig {
+
+    /**
+     * Tomcat тоже есть в зависимостях и выбирается Spring Boot первым, поэтому Netty задается явно
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider shareItServerConnectionProvider(
+            @Value("${shareit-server.reactive.max-connections}") int maxConnections,
+            @Value("${shareit-server.reactive.pending-acquire-max-count}") int pendingAcquireMaxCount,
+            @Value("${shareit-server.reactive.pending-acquire-timeout}") Duration pendingAcquireTimeout,
+            @Value("${shareit-server.reactive.max-idle-time}") Duration maxIdleTime) {
+        return ConnectionProvider.builder("shareit-server")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient shareItServerWebClient(WebClient.Builder builder, ConnectionProvider connectionProvider,
+                                            Jackson2ObjectMapperBuilder objectMapperBuilder,
+                                            @Value("${shareit-server.reactive.response-timeout}") Duration responseTimeout,
+                                            @Value("${shareit-server.reactive.compression}") boolean compression,
+                                            @Value("${shareit-server.reactive.http2}") boolean http2) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .protocol(http2 ? HttpProtocol.H2C : HttpProtocol.HTTP11)
+                .compress(compression)
+                .responseTimeout(responseTimeout);
+        ObjectMapper smileMapper = objectMapperBuilder.factory(new SmileFactory()).build();
+        return builder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.customCodecs().register(new Jackson2SmileEncoder(smileMapper)))
+                .build();
+    }
+}
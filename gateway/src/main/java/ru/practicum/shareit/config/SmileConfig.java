@@ -0,0 +1,25 @@
+package ru.practicum.shareit.config;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Конвертер Smile добавляется только в RestTemplate клиентов шлюза, чтобы они могли отправлять
+ * тела запросов серверу в Smile. Ответы клиентам шлюза остаются в JSON.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class SmileConfig {
+
+    @Bean
+    public RestTemplateCustomizer smileRestTemplateCustomizer(Jackson2ObjectMapperBuilder builder) {
+        MappingJackson2SmileHttpMessageConverter converter =
+                new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+        return restTemplate -> restTemplate.getMessageConverters().add(converter);
+    }
+}
@@ -1,16 +1,23 @@
 package ru.practicum.shareit.error;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.server.ServerWebInputException;
 import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.BookingAvailableException;
 import ru.practicum.shareit.exception.IncorrectException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.RateLimitExceededException;
+import ru.practicum.shareit.exception.ServerUnavailableException;
 
 @RestControllerAdvice
 @Slf4j
@@ -43,6 +50,23 @@ public class ErrorHandler {
         return new ErrorResponse("Unknown state: UNSUPPORTED_STATUS");
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleWebExchangeBindException(WebExchangeBindException exp) {
+        log.error("Ошибка валидации", exp);
+        return new ErrorResponse(exp.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleServerWebInputException(ServerWebInputException exp) {
+        log.error("Ошибка при запросе");
+        if (exp.getCause() instanceof TypeMismatchException) {
+            return new ErrorResponse("Unknown state: UNSUPPORTED_STATUS");
+        }
+        return new ErrorResponse(exp.getReason());
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.FORBIDDEN)
     public ErrorResponse handleAccessDeniedException(final AccessDeniedException exp) {
@@ -57,6 +81,21 @@ public class ErrorHandler {
         return new ErrorResponse(exp.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleServerUnavailableException(final ServerUnavailableException exp) {
+        log.warn("Запрос к серверу отклонен: {}", exp.getMessage());
+        return new ErrorResponse(exp.getMessage());
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<ErrorResponse> handleRateLimitExceededException(final RateLimitExceededException exp) {
+        log.warn("Превышен лимит запросов: {}", exp.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exp.getRetryAfterSeconds()))
+                .body(new ErrorResponse(exp.getMessage()));
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorResponse handleThrowable(final Throwable exp) {
@@ -2,45 +2,65 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerCallGuard;
+import ru.practicum.shareit.client.WireFormat;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import java.util.Map;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory shareItServerRequestFactory, ResponseCache responseCache,
+                      RequestCoalescer requestCoalescer, ServerCallGuard serverCallGuard,
+                      @Value("${shareit-server.wire-format}") WireFormat wireFormat) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> shareItServerRequestFactory)
+                        .build(),
+                responseCache,
+                API_PREFIX,
+                requestCoalescer,
+                serverCallGuard,
+                wireFormat
         );
     }
 
     public ResponseEntity<Object> createItem(ItemDto itemDto, long userId) {
-        return post("", userId, itemDto);
+        ResponseEntity<Object> response = post("", userId, itemDto);
+        invalidate(ResponseCache.ITEMS, ResponseCache.REQUESTS);
+        return response;
     }
 
     public ResponseEntity<Object> createComment(long userId, CommentDto commentDto, long itemId) {
-        return post("/" + itemId + "/comment", userId, commentDto);
+        ResponseEntity<Object> response = post("/" + itemId + "/comment", userId, commentDto);
+        invalidate(ResponseCache.ITEMS);
+        return response;
     }
 
     public ResponseEntity<Object> updateItem(ItemDto itemDto, long itemId, long userId) {
-        return patch("/" + itemId, userId, itemDto);
+        ResponseEntity<Object> response = patch("/" + itemId, userId, itemDto);
+        invalidate(ResponseCache.ITEMS, ResponseCache.REQUESTS);
+        return response;
     }
 
     public ResponseEntity<Object> getById(long itemId, long userId) {
-        return get("/" + itemId, userId);
+        return get("/" + itemId, userId, null);
     }
 
     public ResponseEntity<Object> getAllByOwner(long userId, int from, int size) {
@@ -57,10 +77,11 @@ public class ItemClient extends BaseClient {
                 "from", from,
                 "size", size
         );
-        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+        return getCached("/search?text={text}&from={from}&size={size}", userId, parameters);
     }
 
     public void deleteById(long itemId) {
         delete("/" + itemId);
+        invalidate(ResponseCache.ITEMS, ResponseCache.REQUESTS);
     }
 }
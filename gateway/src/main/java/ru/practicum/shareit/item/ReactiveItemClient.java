@@ -0,0 +1,80 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerCallGuard;
+import ru.practicum.shareit.client.WireFormat;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveItemClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/items";
+
+    @Autowired
+    public ReactiveItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient webClient,
+                              ResponseCache responseCache, RequestCoalescer requestCoalescer,
+                              ServerCallGuard serverCallGuard,
+                              @Value("${shareit-server.wire-format}") WireFormat wireFormat) {
+        super(
+                webClient.mutate().baseUrl(serverUrl + API_PREFIX).build(),
+                responseCache,
+                API_PREFIX,
+                requestCoalescer,
+                serverCallGuard,
+                wireFormat
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> createItem(ItemDto itemDto, long userId) {
+        return post("", userId, itemDto)
+                .doOnNext(response -> invalidate(ResponseCache.ITEMS, ResponseCache.REQUESTS));
+    }
+
+    public Mono<ResponseEntity<Object>> createComment(long userId, CommentDto commentDto, long itemId) {
+        return post("/" + itemId + "/comment", userId, commentDto)
+                .doOnNext(response -> invalidate(ResponseCache.ITEMS));
+    }
+
+    public Mono<ResponseEntity<Object>> updateItem(ItemDto itemDto, long itemId, long userId) {
+        return patch("/" + itemId, userId, itemDto)
+                .doOnNext(response -> invalidate(ResponseCache.ITEMS, ResponseCache.REQUESTS));
+    }
+
+    public Mono<ResponseEntity<Object>> getById(long itemId, long userId) {
+        return get("/" + itemId, userId, null);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllByOwner(long userId, int from, int size) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return get("?from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getBySearch(long userId, String search, int from, int size) {
+        Map<String, Object> parameters = Map.of(
+                "text", search,
+                "from", from,
+                "size", size
+        );
+        return getCached("/search?text={text}&from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> deleteById(long itemId) {
+        return delete("/" + itemId)
+                .doOnNext(response -> invalidate(ResponseCache.ITEMS, ResponseCache.REQUESTS));
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Группы эндпоинтов с отдельными лимитами запросов
+ */
+@Getter
+@RequiredArgsConstructor
+public enum EndpointGroup {
+    OWNER_BOOKINGS("owner-bookings"),
+    ITEM_SEARCH("item-search"),
+    DEFAULT("default");
+
+    private final String name;
+
+    public static EndpointGroup of(String path) {
+        if (path.startsWith("/bookings/owner")) {
+            return OWNER_BOOKINGS;
+        }
+        if (path.startsWith("/items/search")) {
+            return ITEM_SEARCH;
+        }
+        return DEFAULT;
+    }
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.constants.HeaderConstants;
+import ru.practicum.shareit.error.ErrorResponse;
+import ru.practicum.shareit.exception.RateLimitExceededException;
+
+/**
+ * Аналог {@link RateLimitInterceptor} для реактивного режима шлюза. Исключения фильтров WebFlux
+ * не доходят до {@link ru.practicum.shareit.error.ErrorHandler}, поэтому ответ 429 с Retry-After
+ * формируется здесь в том же виде.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitWebFilter implements WebFilter {
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getPath().pathWithinApplication().value();
+        if (path.startsWith("/actuator/")) {
+            return chain.filter(exchange);
+        }
+        try {
+            rateLimiter.acquire(path, exchange.getRequest().getHeaders().getFirst(HeaderConstants.X_SHARER_USER_ID));
+        } catch (RateLimitExceededException exp) {
+            log.warn("Превышен лимит запросов: {}", exp.getMessage());
+            return writeTooManyRequests(exchange.getResponse(), exp);
+        }
+        return chain.filter(exchange);
+    }
+
+    private Mono<Void> writeTooManyRequests(ServerHttpResponse response, RateLimitExceededException exp) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(new ErrorResponse(exp.getMessage()));
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(exp.getRetryAfterSeconds()));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        DataBuffer buffer = response.bufferFactory().wrap(body);
+        return response.writeWith(Mono.just(buffer));
+    }
+}
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.NumberUtils;
+import ru.practicum.shareit.exception.RateLimitExceededException;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ограничение частоты запросов каждого пользователя (X-Sharer-User-Id) отдельно по группам эндпоинтов.
+ * Корзины пользователей хранятся в ограниченном по размеру кэше и удаляются после простоя,
+ * поэтому память не растет с числом пользователей. Параметры группы задаются свойствами
+ * shareit-gateway.rate-limit.&lt;группа&gt;.capacity и .refill-per-second.
+ */
+@Component
+public class RateLimiter {
+    private final Map<EndpointGroup, Limit> limits = new EnumMap<>(EndpointGroup.class);
+    private final boolean enabled;
+
+    public RateLimiter(MeterRegistry meterRegistry, Environment environment,
+                       @Value("${shareit-gateway.rate-limit.enabled}") boolean enabled,
+                       @Value("${shareit-gateway.rate-limit.max-users}") long maxUsers,
+                       @Value("${shareit-gateway.rate-limit.idle-expiry}") Duration idleExpiry) {
+        this.enabled = enabled;
+        for (EndpointGroup group : EndpointGroup.values()) {
+            String prefix = "shareit-gateway.rate-limit." + group.getName();
+            long capacity = environment.getRequiredProperty(prefix + ".capacity", Long.class);
+            double refillPerSecond = environment.getRequiredProperty(prefix + ".refill-per-second", Double.class);
+            limits.put(group, new Limit(group, capacity, refillPerSecond, maxUsers, idleExpiry, meterRegistry));
+        }
+    }
+
+    /**
+     * Списание токена пользователя по пути запроса и значению X-Sharer-User-Id.
+     * Заголовок разбирается так же, как при привязке к параметру контроллера, поэтому разные записи
+     * одного числа ("1", "01", "+1") попадают в одну корзину. Запросы без заголовка не ограничиваются,
+     * а запросы с некорректным заголовком отклоняет контроллер с ответом 400, корзина для них не создается.
+     *
+     * @throws RateLimitExceededException если токенов не осталось
+     */
+    public void acquire(String path, @Nullable String userIdHeader) {
+        if (!enabled || userIdHeader == null) {
+            return;
+        }
+        long userId;
+        try {
+            userId = NumberUtils.parseNumber(userIdHeader, Long.class);
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        acquire(EndpointGroup.of(path), userId);
+    }
+
+    /**
+     * Списание токена пользователя в группе эндпоинтов
+     *
+     * @throws RateLimitExceededException если токенов не осталось
+     */
+    public void acquire(EndpointGroup group, long userId) {
+        if (enabled) {
+            limits.get(group).acquire(userId);
+        }
+    }
+
+    private static class Limit {
+        private final Cache<Long, TokenBucket> buckets;
+        private final long capacity;
+        private final double refillPerSecond;
+        private final Counter rejected;
+
+        Limit(EndpointGroup group, long capacity, double refillPerSecond, long maxUsers, Duration idleExpiry,
+              MeterRegistry meterRegistry) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(maxUsers)
+                    .expireAfterAccess(idleExpiry)
+                    .build();
+            this.rejected = Counter.builder("shareit.gateway.requests.rate-limited")
+                    .description("Запросы, отклоненные из-за превышения лимита пользователя")
+                    .tag("group", group.getName())
+                    .register(meterRegistry);
+            Gauge.builder("shareit.gateway.rate-limit.users", buckets, Cache::estimatedSize)
+                    .description("Пользователи с активной корзиной токенов")
+                    .tag("group", group.getName())
+                    .register(meterRegistry);
+        }
+
+        void acquire(long userId) {
+            long now = System.nanoTime();
+            TokenBucket bucket = buckets.get(userId, id -> new TokenBucket(capacity, refillPerSecond, now));
+            long waitNanos = bucket.tryConsume(now);
+            if (waitNanos > 0) {
+                rejected.increment();
+                long retryAfter = TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1;
+                throw new RateLimitExceededException("Превышен лимит запросов, повторите через " + retryAfter + " с",
+                        retryAfter);
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Корзина токенов без блокировок. Вместо числа токенов хранится теоретическое время следующего запроса
+ * (GCRA): каждый запрос сдвигает его на интервал пополнения, запрос разрешен, пока сдвиг
+ * не превышает емкость корзины. Состояние обновляется одной операцией compare-and-set.
+ */
+class TokenBucket {
+    private final AtomicLong theoreticalArrival;
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+
+    TokenBucket(long capacity, double refillPerSecond, long nowNanos) {
+        this.emissionIntervalNanos = (long) (1_000_000_000L / refillPerSecond);
+        this.burstNanos = emissionIntervalNanos * capacity;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Попытка взять токен
+     *
+     * @return 0, если токен получен, иначе время в наносекундах до появления следующего токена
+     */
+    long tryConsume(long nowNanos) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long next = Math.max(arrival, nowNanos) + emissionIntervalNanos;
+            long wait = next - nowNanos - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+}
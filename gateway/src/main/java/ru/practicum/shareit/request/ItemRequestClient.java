@@ -2,36 +2,52 @@ package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerCallGuard;
+import ru.practicum.shareit.client.WireFormat;
 import ru.practicum.shareit.request.dto.RequestDtoIn;
 
 import java.util.Map;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                             ClientHttpRequestFactory shareItServerRequestFactory, ResponseCache responseCache,
+                             RequestCoalescer requestCoalescer, ServerCallGuard serverCallGuard,
+                             @Value("${shareit-server.wire-format}") WireFormat wireFormat) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> shareItServerRequestFactory)
+                        .build(),
+                responseCache,
+                API_PREFIX,
+                requestCoalescer,
+                serverCallGuard,
+                wireFormat
         );
     }
 
     public ResponseEntity<Object> createRequest(long userId, RequestDtoIn itemRequestDtoIn) {
-        return post("", userId, itemRequestDtoIn);
+        ResponseEntity<Object> response = post("", userId, itemRequestDtoIn);
+        invalidate(ResponseCache.REQUESTS);
+        return response;
     }
 
     public ResponseEntity<Object> getById(long userId, long requestId) {
-        return get("/" + requestId, userId);
+        return getCached("/" + requestId, userId, null);
     }
 
     public ResponseEntity<Object> getAllByOwner(long userId, int from, int size) {
@@ -39,7 +55,7 @@ public class ItemRequestClient extends BaseClient {
                 "from", from,
                 "size", size
         );
-        return get("?from={from}&size={size}", userId, parameters);
+        return getCached("?from={from}&size={size}", userId, parameters);
     }
 
     public ResponseEntity<Object> getAllRequests(long userId, int from, int size) {
@@ -47,6 +63,6 @@ public class ItemRequestClient extends BaseClient {
                 "from", from,
                 "size", size
         );
-        return get("/all?from={from}&size={size}", userId, parameters);
+        return getCached("/all?from={from}&size={size}", userId, parameters);
     }
 }
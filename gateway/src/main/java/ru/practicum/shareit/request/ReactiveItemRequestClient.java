@@ -0,0 +1,63 @@
+package ru.practicum.shareit.request;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerCallGuard;
+import ru.practicum.shareit.client.WireFormat;
+import ru.practicum.shareit.request.dto.RequestDtoIn;
+
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveItemRequestClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/requests";
+
+    @Autowired
+    public ReactiveItemRequestClient(@Value("${shareit-server.url}") String serverUrl, WebClient webClient,
+                                     ResponseCache responseCache, RequestCoalescer requestCoalescer,
+                                     ServerCallGuard serverCallGuard,
+                                     @Value("${shareit-server.wire-format}") WireFormat wireFormat) {
+        super(
+                webClient.mutate().baseUrl(serverUrl + API_PREFIX).build(),
+                responseCache,
+                API_PREFIX,
+                requestCoalescer,
+                serverCallGuard,
+                wireFormat
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> createRequest(long userId, RequestDtoIn itemRequestDtoIn) {
+        return post("", userId, itemRequestDtoIn)
+                .doOnNext(response -> invalidate(ResponseCache.REQUESTS));
+    }
+
+    public Mono<ResponseEntity<Object>> getById(long userId, long requestId) {
+        return getCached("/" + requestId, userId, null);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllByOwner(long userId, int from, int size) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return getCached("?from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllRequests(long userId, int from, int size) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return getCached("/all?from={from}&size={size}", userId, parameters);
+    }
+}
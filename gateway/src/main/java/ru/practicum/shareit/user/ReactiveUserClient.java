@@ -0,0 +1,60 @@
+package ru.practicum.shareit.user;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerCallGuard;
+import ru.practicum.shareit.client.WireFormat;
+import ru.practicum.shareit.user.dto.UserDto;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/users";
+
+    @Autowired
+    public ReactiveUserClient(@Value("${shareit-server.url}") String serverUrl, WebClient webClient,
+                              ResponseCache responseCache, RequestCoalescer requestCoalescer,
+                              ServerCallGuard serverCallGuard,
+                              @Value("${shareit-server.wire-format}") WireFormat wireFormat) {
+        super(
+                webClient.mutate().baseUrl(serverUrl + API_PREFIX).build(),
+                responseCache,
+                API_PREFIX,
+                requestCoalescer,
+                serverCallGuard,
+                wireFormat
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> createUser(UserDto userDto) {
+        return post("", userDto)
+                .doOnNext(response -> invalidate(ResponseCache.USERS));
+    }
+
+    public Mono<ResponseEntity<Object>> updateUser(UserDto userDto, long userId) {
+        return patch("/" + userId, userDto)
+                .doOnNext(response -> invalidate(ResponseCache.USERS, ResponseCache.ITEMS));
+    }
+
+    public Mono<ResponseEntity<Object>> getUserById(long userId) {
+        return getCached("/" + userId, null, null);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllUsers() {
+        return getCached("", null, null);
+    }
+
+    public Mono<ResponseEntity<Object>> deleteUserById(long userId) {
+        return delete("/" + userId)
+                .doOnNext(response -> invalidate(ResponseCache.USERS, ResponseCache.ITEMS, ResponseCache.REQUESTS));
+    }
+
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import javax.validation.Valid;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(path = "/users")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveUserController {
+    private final ReactiveUserClient userClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> create(@Valid @RequestBody UserDto userDto) {
+        log.info("Создание пользователя: {}", userDto);
+        return userClient.createUser(userDto);
+    }
+
+    @PatchMapping("/{userId}")
+    public Mono<ResponseEntity<Object>> update(@RequestBody UserDto userDto, @PathVariable long userId) {
+        log.info("Обновление пользователя: {}", userDto);
+        return userClient.updateUser(userDto, userId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getAllUsers() {
+        return userClient.getAllUsers();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Object>> getById(@PathVariable int id) {
+        return userClient.getUserById(id);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<Void> deleteById(@PathVariable int id) {
+        return userClient.deleteUserById(id).then();
+    }
+
+}
@@ -2,46 +2,65 @@ package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerCallGuard;
+import ru.practicum.shareit.client.WireFormat;
 import ru.practicum.shareit.user.dto.UserDto;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory shareItServerRequestFactory, ResponseCache responseCache,
+                      RequestCoalescer requestCoalescer, ServerCallGuard serverCallGuard,
+                      @Value("${shareit-server.wire-format}") WireFormat wireFormat) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> shareItServerRequestFactory)
+                        .build(),
+                responseCache,
+                API_PREFIX,
+                requestCoalescer,
+                serverCallGuard,
+                wireFormat
         );
     }
 
     public ResponseEntity<Object> createUser(UserDto userDto) {
-        return post("", userDto);
+        ResponseEntity<Object> response = post("", userDto);
+        invalidate(ResponseCache.USERS);
+        return response;
     }
 
     public ResponseEntity<Object> updateUser(UserDto userDto, long userId) {
-        return patch("/" + userId, userDto);
+        ResponseEntity<Object> response = patch("/" + userId, userDto);
+        invalidate(ResponseCache.USERS, ResponseCache.ITEMS);
+        return response;
     }
 
     public ResponseEntity<Object> getUserById(long userId) {
-        return get("/" + userId);
+        return getCached("/" + userId, null, null);
     }
 
     public ResponseEntity<Object> getAllUsers() {
-        return get("");
+        return getCached("", null, null);
     }
 
     public void deleteUserById(long userId) {
         delete("/" + userId);
+        invalidate(ResponseCache.USERS, ResponseCache.ITEMS, ResponseCache.REQUESTS);
     }
 
 }
@@ -0,0 +1,182 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RequestCoalescerTest {
+    private static final String KEY = "/items/1#1";
+    private static final int CALLERS = 8;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestCoalescer coalescer = new RequestCoalescer(meterRegistry, true);
+    private final AtomicInteger calls = new AtomicInteger();
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void executeConcurrentCallersShareOneCallTest() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<ResponseEntity<Object>>> responses = submitCallers(() -> {
+            awaitRelease(release);
+            return ResponseEntity.ok(calls.incrementAndGet());
+        });
+
+        awaitCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (Future<ResponseEntity<Object>> response : responses) {
+            assertThat(response.get(5, TimeUnit.SECONDS).getBody()).isEqualTo(1);
+        }
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void executeFailurePropagatesToAllCallersTest() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<ResponseEntity<Object>>> responses = submitCallers(() -> {
+            awaitRelease(release);
+            calls.incrementAndGet();
+            throw new IllegalStateException("server down");
+        });
+
+        awaitCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (Future<ResponseEntity<Object>> response : responses) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> response.get(5, TimeUnit.SECONDS));
+            assertThat(e.getCause()).isInstanceOf(IllegalStateException.class).hasMessage("server down");
+        }
+        assertThat(calls).hasValue(1);
+    }
+
+    /**
+     * Ответ не переживает запрос: следующий вызов после успеха или ошибки снова идет на сервер
+     */
+    @Test
+    void executeRemovesEntryAfterCompletionTest() {
+        coalescer.execute(KEY, () -> ResponseEntity.ok(calls.incrementAndGet()));
+        assertThrows(IllegalStateException.class, () -> coalescer.execute(KEY, () -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException();
+        }));
+
+        assertThat(coalescer.execute(KEY, () -> ResponseEntity.ok(calls.incrementAndGet())).getBody()).isEqualTo(3);
+    }
+
+    @Test
+    void executeMonoSubscribersShareOneCallTest() {
+        Sinks.One<ResponseEntity<Object>> upstream = Sinks.one();
+        List<AtomicReference<ResponseEntity<Object>>> responses = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            AtomicReference<ResponseEntity<Object>> response = new AtomicReference<>();
+            coalescer.executeMono(KEY, () -> {
+                calls.incrementAndGet();
+                return upstream.asMono();
+            }).subscribe(response::set);
+            responses.add(response);
+        }
+
+        upstream.tryEmitValue(ResponseEntity.ok("item"));
+
+        assertThat(calls).hasValue(1);
+        assertThat(responses).allSatisfy(response -> assertThat(response.get().getBody()).isEqualTo("item"));
+        assertThat(coalescer.executeMono(KEY, () -> Mono.just(ResponseEntity.ok(calls.incrementAndGet())))
+                .block().getBody()).isEqualTo(2);
+    }
+
+    @Test
+    void executeMonoFailurePropagatesToSubscribersTest() {
+        Sinks.One<ResponseEntity<Object>> upstream = Sinks.one();
+        AtomicReference<Throwable> leaderError = new AtomicReference<>();
+        AtomicReference<Throwable> followerError = new AtomicReference<>();
+        coalescer.executeMono(KEY, upstream::asMono).subscribe(response -> { }, leaderError::set);
+        coalescer.executeMono(KEY, upstream::asMono).subscribe(response -> { }, followerError::set);
+
+        upstream.tryEmitError(new IllegalStateException("server down"));
+
+        assertThat(leaderError.get()).isInstanceOf(IllegalStateException.class);
+        assertThat(followerError.get()).isInstanceOf(IllegalStateException.class);
+    }
+
+    /**
+     * Отмена первого запроса не оставляет ожидающих без ответа: они обращаются к серверу сами
+     */
+    @Test
+    void executeMonoLeaderCancelFallsBackToOwnCallTest() {
+        Disposable leader = coalescer.executeMono(KEY, Mono::never).subscribe();
+        Mono<ResponseEntity<Object>> follower = coalescer.executeMono(KEY,
+                () -> Mono.just(ResponseEntity.ok(calls.incrementAndGet())));
+        AtomicReference<ResponseEntity<Object>> response = new AtomicReference<>();
+        follower.subscribe(response::set);
+
+        leader.dispose();
+
+        assertThat(response.get().getBody()).isEqualTo(1);
+    }
+
+    @Test
+    void executeMonoFollowerCancelKeepsSharedCallTest() {
+        Sinks.One<ResponseEntity<Object>> upstream = Sinks.one();
+        AtomicReference<ResponseEntity<Object>> response = new AtomicReference<>();
+        coalescer.executeMono(KEY, upstream::asMono).subscribe(response::set);
+        coalescer.executeMono(KEY, upstream::asMono).subscribe().dispose();
+
+        upstream.tryEmitValue(ResponseEntity.ok("item"));
+
+        assertThat(response.get().getBody()).isEqualTo("item");
+    }
+
+    private List<Future<ResponseEntity<Object>>> submitCallers(Supplier<ResponseEntity<Object>> call) {
+        List<Future<ResponseEntity<Object>>> responses = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            responses.add(executor.submit(() -> coalescer.execute(KEY, call)));
+        }
+        return responses;
+    }
+
+    /**
+     * Ожидание, пока остальные вызовы присоединятся к первому
+     */
+    private void awaitCoalesced(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (meterRegistry.counter("shareit.gateway.requests.coalesced").count() < count) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static void awaitRelease(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
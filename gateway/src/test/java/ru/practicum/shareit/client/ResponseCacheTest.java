@@ -0,0 +1,140 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class ResponseCacheTest {
+    private static final String KEY = "/items/search?text=drill#1";
+
+    private final ResponseCache cache = new ResponseCache(new SimpleMeterRegistry(), true, 100, Duration.ofMinutes(1));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void getLoadsOnceForSameKeyTest() {
+        cache.get(ResponseCache.ITEMS, KEY, this::load);
+        ResponseEntity<Object> response = cache.get(ResponseCache.ITEMS, KEY, this::load);
+
+        assertThat(response.getBody()).isEqualTo(1);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void getDoesNotStoreErrorResponseTest() {
+        cache.get(ResponseCache.ITEMS, KEY, () -> {
+            loads.incrementAndGet();
+            return ResponseEntity.notFound().build();
+        });
+        cache.get(ResponseCache.ITEMS, KEY, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void invalidateDropsOnlyGivenRegionsTest() {
+        cache.get(ResponseCache.ITEMS, KEY, this::load);
+        cache.get(ResponseCache.USERS, "/users/1#1", this::load);
+
+        cache.invalidate(ResponseCache.ITEMS);
+
+        assertThat(cache.get(ResponseCache.ITEMS, KEY, this::load).getBody()).isEqualTo(3);
+        assertThat(cache.get(ResponseCache.USERS, "/users/1#1", this::load).getBody()).isEqualTo(2);
+    }
+
+    /**
+     * Ответ, полученный до сброса области, не должен попасть в кэш после него
+     */
+    @Test
+    void getDoesNotStoreResponseLoadedDuringInvalidationTest() {
+        ResponseEntity<Object> stale = cache.get(ResponseCache.ITEMS, KEY, () -> {
+            ResponseEntity<Object> response = load();
+            cache.invalidate(ResponseCache.ITEMS);
+            return response;
+        });
+
+        assertThat(stale.getBody()).isEqualTo(1);
+        assertThat(cache.get(ResponseCache.ITEMS, KEY, this::load).getBody()).isEqualTo(2);
+    }
+
+    @Test
+    void getMonoDoesNotStoreResponseLoadedDuringInvalidationTest() {
+        cache.getMono(ResponseCache.ITEMS, KEY, () -> Mono.fromSupplier(this::load)
+                .doOnNext(response -> cache.invalidate(ResponseCache.ITEMS))).block();
+
+        assertThat(cache.getMono(ResponseCache.ITEMS, KEY, () -> Mono.fromSupplier(this::load)).block().getBody())
+                .isEqualTo(2);
+        assertThat(cache.getMono(ResponseCache.ITEMS, KEY, () -> Mono.fromSupplier(this::load)).block().getBody())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void disabledCacheAlwaysLoadsTest() {
+        ResponseCache disabled = new ResponseCache(new SimpleMeterRegistry(), false, 100, Duration.ofMinutes(1));
+
+        disabled.get(ResponseCache.ITEMS, KEY, this::load);
+        disabled.get(ResponseCache.ITEMS, KEY, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    /**
+     * Одинаковый адрес разных пользователей кэшируется раздельно: ответ одного не отдается другому
+     */
+    @Test
+    void clientCachesResponsesPerUserTest() {
+        RestTemplate rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://server/requests"));
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        server.expect(once(), requestTo("http://server/requests/all?from=0&size=10"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess("[1]", MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo("http://server/requests/all?from=0&size=10"))
+                .andExpect(header("X-Sharer-User-Id", "2"))
+                .andRespond(withSuccess("[2]", MediaType.APPLICATION_JSON));
+        RequestsClient client = new RequestsClient(rest, cache);
+
+        assertThat(body(client.getAll(1))).isEqualTo("[1]");
+        assertThat(body(client.getAll(2))).isEqualTo("[2]");
+        assertThat(body(client.getAll(1))).isEqualTo("[1]");
+        assertThat(body(client.getAll(2))).isEqualTo("[2]");
+        server.verify();
+    }
+
+    private ResponseEntity<Object> load() {
+        return ResponseEntity.ok(loads.incrementAndGet());
+    }
+
+    private static String body(ResponseEntity<Object> response) {
+        return new String((byte[]) response.getBody(), StandardCharsets.UTF_8);
+    }
+
+    private static class RequestsClient extends BaseClient {
+        RequestsClient(RestTemplate rest, ResponseCache cache) {
+            super(rest, cache, ResponseCache.REQUESTS, new RequestCoalescer(new SimpleMeterRegistry(), true),
+                    ServerCallGuardTest.guard(10, 10), WireFormat.JSON);
+        }
+
+        ResponseEntity<Object> getAll(long userId) {
+            return getCached("/all?from={from}&size={size}", userId, Map.of("from", 0, "size", 10));
+        }
+    }
+}
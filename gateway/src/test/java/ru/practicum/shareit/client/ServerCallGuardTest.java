@@ -0,0 +1,176 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.error.ErrorHandler;
+import ru.practicum.shareit.exception.ServerUnavailableException;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.ItemController;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ServerCallGuardTest {
+    private static final String CLIENT = "/items";
+    private static final Duration MAX_WAIT = Duration.ofSeconds(2);
+    private static final int MINIMUM_CALLS = 5;
+
+    /**
+     * Реактивная переборка не ждет места: иначе поток цикла событий Netty простаивал бы max-wait
+     */
+    @Test
+    void executeMonoWithFullBulkheadRejectsWithoutWaitingTest() {
+        ServerCallGuard guard = guard(2, 100);
+        List<Disposable> inFlight = List.of(
+                guard.executeMono(CLIENT, Mono::never).subscribe(),
+                guard.executeMono(CLIENT, Mono::never).subscribe());
+
+        long start = System.nanoTime();
+        assertThrows(ServerUnavailableException.class,
+                () -> guard.executeMono(CLIENT, () -> Mono.just(ok())).block());
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(elapsed).isLessThan(MAX_WAIT.dividedBy(4));
+
+        inFlight.forEach(Disposable::dispose);
+        assertThat(guard.executeMono(CLIENT, () -> Mono.just(ok())).block().getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void executeMonoRejectsOverAdaptiveLimitTest() {
+        ServerCallGuard guard = guard(10, 2);
+        List<Disposable> inFlight = List.of(
+                guard.executeMono(CLIENT, Mono::never).subscribe(),
+                guard.executeMono(CLIENT, Mono::never).subscribe());
+
+        assertThrows(ServerUnavailableException.class,
+                () -> guard.executeMono(CLIENT, () -> Mono.just(ok())).block());
+
+        inFlight.forEach(Disposable::dispose);
+    }
+
+    /**
+     * Выключатель открывается после minimum-calls ответов 5xx и дальше не пускает запросы к серверу
+     */
+    @Test
+    void executeOpensCircuitOnServerErrorsTest() {
+        ServerCallGuard guard = guard(10, 10);
+        AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < MINIMUM_CALLS; i++) {
+            guard.execute(CLIENT, () -> {
+                calls.incrementAndGet();
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            });
+        }
+
+        assertThrows(ServerUnavailableException.class, () -> guard.execute(CLIENT, () -> {
+            calls.incrementAndGet();
+            return ok();
+        }));
+        assertThat(calls).hasValue(MINIMUM_CALLS);
+    }
+
+    @Test
+    void executeCountsErrorsThrownByCallTest() {
+        ServerCallGuard guard = guard(1, 1);
+        for (int i = 0; i < MINIMUM_CALLS; i++) {
+            assertThrows(StackOverflowError.class, () -> guard.execute(CLIENT, () -> {
+                throw new StackOverflowError();
+            }));
+        }
+
+        assertThrows(ServerUnavailableException.class, () -> guard.execute(CLIENT, ServerCallGuardTest::ok));
+    }
+
+    @Test
+    void executeReleasesPermitsAfterErrorTest() {
+        ServerCallGuard guard = guard(1, 1);
+
+        assertThrows(StackOverflowError.class, () -> guard.execute(CLIENT, () -> {
+            throw new StackOverflowError();
+        }));
+
+        assertThat(guard.execute(CLIENT, ServerCallGuardTest::ok).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void openCircuitRespondsServiceUnavailableTest() throws Exception {
+        ServerCallGuard guard = guard(10, 10);
+        for (int i = 0; i < MINIMUM_CALLS; i++) {
+            guard.execute(CLIENT, () -> ResponseEntity.status(HttpStatus.BAD_GATEWAY).build());
+        }
+        ItemClient itemClient = mock(ItemClient.class);
+        when(itemClient.getById(1, 1)).thenAnswer(invocation -> guard.execute(CLIENT, ServerCallGuardTest::ok));
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(new ItemController(itemClient))
+                .setControllerAdvice(new ErrorHandler())
+                .build();
+
+        mvc.perform(get("/items/1").header("X-Sharer-User-Id", 1))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void adaptiveLimitGrowsOnlyWhileUsedTest() {
+        ServerCallGuard.AdaptiveLimit limit = new ServerCallGuard.AdaptiveLimit(4, 1, 10, 1_000, 0.5);
+
+        limit.tryAcquire();
+        limit.release(10, false);
+        assertThat(limit.getLimit()).isEqualTo(4);
+
+        limit.tryAcquire();
+        limit.tryAcquire();
+        limit.release(10, false);
+        assertThat(limit.getLimit()).isEqualTo(4.25);
+    }
+
+    @Test
+    void adaptiveLimitBacksOffOnSlowOrFailedCallTest() {
+        ServerCallGuard.AdaptiveLimit limit = new ServerCallGuard.AdaptiveLimit(8, 3, 10, 1_000, 0.5);
+
+        limit.tryAcquire();
+        limit.release(2_000, false);
+        assertThat(limit.getLimit()).isEqualTo(4);
+
+        limit.tryAcquire();
+        limit.release(10, true);
+        assertThat(limit.getLimit()).isEqualTo(3);
+        assertThat(limit.getInFlight()).isZero();
+    }
+
+    @Test
+    void adaptiveLimitStaysWithinBoundsTest() {
+        ServerCallGuard.AdaptiveLimit limit = new ServerCallGuard.AdaptiveLimit(2, 1, 2, 1_000, 0.5);
+
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isFalse();
+        limit.release(10, false);
+        assertThat(limit.getLimit()).isEqualTo(2);
+    }
+
+    static ServerCallGuard guard(int maxConcurrentCalls, int initialLimit) {
+        return new ServerCallGuard(new SimpleMeterRegistry(),
+                50, Duration.ofSeconds(2), 100, 10, MINIMUM_CALLS, Duration.ofMinutes(1), 1,
+                maxConcurrentCalls, MAX_WAIT,
+                initialLimit, 1, 100, Duration.ofSeconds(1), 0.5);
+    }
+
+    static ResponseEntity<Object> ok() {
+        return ResponseEntity.ok().build();
+    }
+}
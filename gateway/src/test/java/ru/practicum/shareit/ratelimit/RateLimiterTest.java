@@ -0,0 +1,123 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ru.practicum.shareit.error.ErrorHandler;
+import ru.practicum.shareit.exception.RateLimitExceededException;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.ItemController;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class RateLimiterTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void tokenBucketAllowsBurstUpToCapacityTest() {
+        TokenBucket bucket = new TokenBucket(3, 1, 0);
+
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(0)).isEqualTo(SECOND);
+    }
+
+    @Test
+    void tokenBucketRefillsAtRateTest() {
+        TokenBucket bucket = new TokenBucket(2, 4, 0);
+        bucket.tryConsume(0);
+        bucket.tryConsume(0);
+
+        assertThat(bucket.tryConsume(SECOND / 8)).isEqualTo(SECOND / 8);
+        assertThat(bucket.tryConsume(SECOND / 4)).isZero();
+        assertThat(bucket.tryConsume(SECOND / 4)).isEqualTo(SECOND / 4);
+    }
+
+    /**
+     * Долгий простой не копит токенов больше емкости корзины
+     */
+    @Test
+    void tokenBucketIdleRefillIsCappedByCapacityTest() {
+        TokenBucket bucket = new TokenBucket(2, 1, 0);
+        long now = 100 * SECOND;
+
+        assertThat(bucket.tryConsume(now)).isZero();
+        assertThat(bucket.tryConsume(now)).isZero();
+        assertThat(bucket.tryConsume(now)).isEqualTo(SECOND);
+    }
+
+    @Test
+    void acquireRejectsWithRetryAfterTest() {
+        RateLimiter rateLimiter = rateLimiter(1, 0.5);
+        rateLimiter.acquire("/items/1", "1");
+
+        RateLimitExceededException e = assertThrows(RateLimitExceededException.class,
+                () -> rateLimiter.acquire("/items/1", "1"));
+
+        assertThat(e.getRetryAfterSeconds()).isEqualTo(2);
+    }
+
+    @Test
+    void acquireKeepsUsersAndGroupsApartTest() {
+        RateLimiter rateLimiter = rateLimiter(1, 0.5);
+        rateLimiter.acquire("/items/1", "1");
+
+        assertDoesNotThrow(() -> rateLimiter.acquire("/items/1", "2"));
+        assertDoesNotThrow(() -> rateLimiter.acquire("/items/search", "1"));
+        assertDoesNotThrow(() -> rateLimiter.acquire("/bookings/owner", "1"));
+    }
+
+    /**
+     * Разные записи одного числа в заголовке расходуют одну корзину
+     */
+    @Test
+    void acquireParsesUserIdHeaderTest() {
+        RateLimiter rateLimiter = rateLimiter(1, 0.5);
+        rateLimiter.acquire("/items/1", "1");
+
+        assertThrows(RateLimitExceededException.class, () -> rateLimiter.acquire("/items/1", "01"));
+        assertDoesNotThrow(() -> rateLimiter.acquire("/items/1", "abc"));
+        assertDoesNotThrow(() -> rateLimiter.acquire("/items/1", null));
+    }
+
+    @Test
+    void rejectedRequestRespondsTooManyRequestsTest() throws Exception {
+        ItemClient itemClient = mock(ItemClient.class);
+        when(itemClient.getById(1, 1)).thenReturn(ResponseEntity.ok().build());
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(new ItemController(itemClient))
+                .addInterceptors(new RateLimitInterceptor(rateLimiter(1, 0.5)))
+                .setControllerAdvice(new ErrorHandler())
+                .build();
+
+        mvc.perform(get("/items/1").header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk());
+        mvc.perform(get("/items/1").header("X-Sharer-User-Id", 1))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"));
+    }
+
+    private static RateLimiter rateLimiter(long capacity, double refillPerSecond) {
+        MockEnvironment environment = new MockEnvironment();
+        for (EndpointGroup group : EndpointGroup.values()) {
+            String prefix = "shareit-gateway.rate-limit." + group.getName();
+            environment.setProperty(prefix + ".capacity", String.valueOf(capacity));
+            environment.setProperty(prefix + ".refill-per-second", String.valueOf(refillPerSecond));
+        }
+        return new RateLimiter(new SimpleMeterRegistry(), environment, true, 1000, Duration.ofMinutes(10));
+    }
+}
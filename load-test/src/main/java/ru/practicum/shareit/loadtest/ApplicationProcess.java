@@ -0,0 +1,87 @@
+package ru.practicum.shareit.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Приложение ShareIt, запущенное из собранного jar в отдельном процессе.
+ * Сервер и шлюз содержат классы с одинаковыми именами, поэтому в одной JVM их не запустить.
+ */
+public class ApplicationProcess implements AutoCloseable {
+    private static final Duration START_TIMEOUT = Duration.ofMinutes(3);
+
+    private final String name;
+    private final int port;
+    private final Process process;
+
+    private ApplicationProcess(String name, int port, Process process) {
+        this.name = name;
+        this.port = port;
+        this.process = process;
+    }
+
+    /**
+     * Запуск jar с аргументами Spring Boot. Вывод приложения пишется в файл name.log в рабочем каталоге.
+     */
+    public static ApplicationProcess start(String name, Path java, Path jar, int port, Path workDir,
+                                           List<String> arguments) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(java.toString());
+        command.add("-jar");
+        command.add(jar.toAbsolutePath().toString());
+        command.add("--server.port=" + port);
+        command.addAll(arguments);
+        Path log = workDir.resolve(name + ".log");
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(log.toFile()))
+                .start();
+        ApplicationProcess application = new ApplicationProcess(name, port, process);
+        System.out.printf("Запуск %s на порту %d, лог: %s%n", name, port, log);
+        application.awaitHealthy();
+        return application;
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + port;
+    }
+
+    private void awaitHealthy() throws InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl() + "/actuator/health"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        long deadline = System.nanoTime() + START_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + " завершился при запуске с кодом " + process.exitValue());
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // приложение еще не слушает порт
+            }
+            TimeUnit.MILLISECONDS.sleep(500);
+        }
+        close();
+        throw new IllegalStateException(name + " не запустился за " + START_TIMEOUT.toSeconds() + " с");
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package ru.practicum.shareit.loadtest;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Заполнение БД напрямую через JDBC: через API нельзя создать бронирования в прошлом,
+ * а без них не бывает отзывов и последних бронирований.
+ * Половина бронирований каждой вещи завершилась, половина начнется в будущем; бронирования вещи не пересекаются.
+ */
+public class DataSeeder {
+    private static final int BATCH_SIZE = 1000;
+    private static final String[] WORDS = {"дрель", "аккумуляторная", "отвертка", "лестница", "палатка", "велосипед",
+            "котелок", "перфоратор", "шуруповерт", "надувная", "лодка", "походный", "складной", "стальной", "детский"};
+
+    private final LoadTestOptions options;
+    private final Random random = new Random(42);
+
+    public DataSeeder(LoadTestOptions options) {
+        this.options = options;
+    }
+
+    public SeededData seed(String url, String user, String password) throws SQLException {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            connection.setAutoCommit(false);
+            List<Long> userIds = insertUsers(connection);
+            List<Long> requestIds = insertRequests(connection, userIds, now);
+            List<SeededData.ItemRef> items = insertItems(connection, userIds, requestIds);
+            List<SeededData.BookingRef> bookings = insertBookings(connection, userIds, items, now);
+            insertComments(connection, bookings, now);
+            connection.commit();
+            System.out.printf("Данные загружены: пользователей %d, вещей %d, бронирований %d, запросов %d%n",
+                    userIds.size(), items.size(), bookings.size(), requestIds.size());
+            return new SeededData(userIds, requestIds, items, bookings);
+        }
+    }
+
+    private List<Long> insertUsers(Connection connection) throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < options.getUsers(); i++) {
+            rows.add(new Object[]{"user" + i, "load" + i + "@shareit.ru"});
+        }
+        return insert(connection, "INSERT INTO users (user_name, email) VALUES (?, ?)", rows);
+    }
+
+    private List<Long> insertRequests(Connection connection, List<Long> userIds, LocalDateTime now)
+            throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
+        for (Long userId : userIds) {
+            for (int i = 0; i < options.getRequestsPerUser(); i++) {
+                rows.add(new Object[]{"Нужна " + words(2), userId, Timestamp.valueOf(now.minusDays(i + 1))});
+            }
+        }
+        return insert(connection,
+                "INSERT INTO requests (request_description, requester_id, create_date) VALUES (?, ?, ?)", rows);
+    }
+
+    private List<SeededData.ItemRef> insertItems(Connection connection, List<Long> userIds, List<Long> requestIds)
+            throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
+        List<Long> owners = new ArrayList<>();
+        List<Boolean> available = new ArrayList<>();
+        for (Long ownerId : userIds) {
+            for (int i = 0; i < options.getItemsPerUser(); i++) {
+                Long requestId = !requestIds.isEmpty() && random.nextInt(5) == 0
+                        ? requestIds.get(random.nextInt(requestIds.size())) : null;
+                boolean isAvailable = random.nextInt(10) > 0;
+                rows.add(new Object[]{words(2), words(8), ownerId, isAvailable, requestId});
+                owners.add(ownerId);
+                available.add(isAvailable);
+            }
+        }
+        List<Long> ids = insert(connection,
+                "INSERT INTO items (item_name, description, owner_id, available, request_id) VALUES (?, ?, ?, ?, ?)",
+                rows);
+        List<SeededData.ItemRef> items = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            items.add(new SeededData.ItemRef(ids.get(i), owners.get(i), available.get(i)));
+        }
+        return items;
+    }
+
+    private List<SeededData.BookingRef> insertBookings(Connection connection, List<Long> userIds,
+                                                       List<SeededData.ItemRef> items, LocalDateTime now)
+            throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
+        List<SeededData.BookingRef> refs = new ArrayList<>();
+        int half = options.getBookingsPerItem() / 2;
+        for (SeededData.ItemRef item : items) {
+            for (int i = 0; i < options.getBookingsPerItem(); i++) {
+                long bookerId = otherUser(userIds, item.getOwnerId());
+                LocalDateTime start = now.plusDays(i - half).plusHours(1);
+                String status = i < half || random.nextBoolean() ? "APPROVED" : "WAITING";
+                rows.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(12)),
+                        item.getId(), bookerId, status});
+                refs.add(new SeededData.BookingRef(0, item, bookerId, i < half));
+            }
+        }
+        List<Long> ids = insert(connection,
+                "INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) VALUES (?, ?, ?, ?, ?)",
+                rows);
+        List<SeededData.BookingRef> bookings = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            SeededData.BookingRef ref = refs.get(i);
+            bookings.add(new SeededData.BookingRef(ids.get(i), ref.getItem(), ref.getBookerId(), ref.isPast()));
+        }
+        return bookings;
+    }
+
+    private void insertComments(Connection connection, List<SeededData.BookingRef> bookings, LocalDateTime now)
+            throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
+        int perItem = 0;
+        long itemId = -1;
+        for (SeededData.BookingRef booking : bookings) {
+            if (booking.getItem().getId() != itemId) {
+                itemId = booking.getItem().getId();
+                perItem = 0;
+            }
+            if (booking.isPast() && perItem < options.getCommentsPerItem()) {
+                rows.add(new Object[]{"Отличная вещь: " + words(4), itemId, booking.getBookerId(),
+                        Timestamp.valueOf(now.minusHours(1))});
+                perItem++;
+            }
+        }
+        insert(connection, "INSERT INTO comments (comment_text, item_id, author_id, created) VALUES (?, ?, ?, ?)",
+                rows);
+    }
+
+    private List<Long> insert(Connection connection, String sql, List<Object[]> rows) throws SQLException {
+        List<Long> ids = new ArrayList<>(rows.size());
+        try (PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < rows.size(); i++) {
+                Object[] row = rows.get(i);
+                for (int j = 0; j < row.length; j++) {
+                    statement.setObject(j + 1, row[j]);
+                }
+                statement.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0 || i == rows.size() - 1) {
+                    statement.executeBatch();
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        while (keys.next()) {
+                            ids.add(keys.getLong(1));
+                        }
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+
+    private long otherUser(List<Long> userIds, long ownerId) {
+        long userId;
+        do {
+            userId = userIds.get(random.nextInt(userIds.size()));
+        } while (userId == ownerId && userIds.size() > 1);
+        return userId;
+    }
+
+    private String words(int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            builder.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return builder.toString();
+    }
+}
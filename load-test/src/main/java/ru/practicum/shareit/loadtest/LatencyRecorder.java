@@ -0,0 +1,75 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Задержки одного эндпоинта в гистограмме HdrHistogram.
+ * Запись из рабочих потоков не блокируется и не выделяет память, поэтому сам замер не становится
+ * точкой конкуренции; гистограмма хранит три значащие цифры, то есть перцентили точны до 0,1%.
+ */
+public class LatencyRecorder {
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final String endpoint;
+    private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+    private final LongAdder errors = new LongAdder();
+
+    public LatencyRecorder(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public void record(long nanos, boolean success) {
+        recorder.recordValue(nanos);
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Сброс накопленных значений; вызывается, когда рабочие потоки остановлены
+     */
+    public void reset() {
+        recorder.reset();
+        errors.reset();
+    }
+
+    /**
+     * Итог по значениям, записанным после последнего сброса
+     */
+    public Summary summarize(double seconds) {
+        Histogram histogram = recorder.getIntervalHistogram();
+        long count = histogram.getTotalCount();
+        return new Summary(endpoint, count, errors.sum(), count / seconds,
+                percentile(histogram, 50), percentile(histogram, 95), percentile(histogram, 99),
+                toMillis(histogram.getMaxValue()));
+    }
+
+    private static double percentile(Histogram histogram, double percentile) {
+        return toMillis(histogram.getValueAtPercentile(percentile));
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * Итог по эндпоинту; задержки в миллисекундах
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Summary {
+        private final String endpoint;
+        private final long requests;
+        private final long errors;
+        private final double throughput;
+        private final double p50;
+        private final double p95;
+        private final double p99;
+        private final double max;
+    }
+}
@@ -0,0 +1,115 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Нагрузочный тест ShareIt от шлюза до БД.
+ * Запускает сервер и шлюз из собранных jar, заполняет БД, прогоняет смесь запросов
+ * и выводит задержки p50/p95/p99 и пропускную способность по каждому эндпоинту.
+ * По умолчанию используется файловая H2 в режиме совместимости с PostgreSQL,
+ * для прогона на PostgreSQL нужно передать --db-url, --db-user и --db-password.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        Path workDir = Files.createTempDirectory("shareit-load-test");
+        String dbUrl = options.getDbUrl() != null ? options.getDbUrl()
+                : "jdbc:h2:file:" + workDir.resolve("shareit").toAbsolutePath()
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH";
+        String virtualThreads = "--shareit.virtual-threads.enabled=" + options.isVirtualThreads();
+        List<String> serverArguments = List.of(
+                "--spring.datasource.url=" + dbUrl,
+                "--spring.datasource.driver-class-name=" + driverClassName(dbUrl),
+                "--spring.datasource.username=" + options.getDbUser(),
+                "--spring.datasource.password=" + options.getDbPassword(),
+                virtualThreads);
+
+        // первый запуск сервера создает схему миграциями Flyway
+        ApplicationProcess.start("server", options.getJava(), options.getServerJar(), options.getServerPort(), workDir,
+                serverArguments).close();
+        SeededData data = new DataSeeder(options).seed(dbUrl, options.getDbUser(), options.getDbPassword());
+
+        // повторный запуск, чтобы данные попали в кэши и индексы, которые строятся при старте
+        try (ApplicationProcess server = ApplicationProcess.start("server", options.getJava(),
+                options.getServerJar(), options.getServerPort(), workDir, serverArguments);
+             ApplicationProcess gateway = ApplicationProcess.start("gateway", options.getJava(),
+                     options.getGatewayJar(), options.getGatewayPort(), workDir,
+                     // лимит запросов пользователя исказил бы замер: нагрузку дают несколько сотен пользователей
+                     List.of("--shareit-server.url=" + server.baseUrl(), virtualThreads,
+                             "--shareit-gateway.rate-limit.enabled=false"))) {
+            Workload workload = new Workload(gateway.baseUrl(), data);
+            System.out.printf("Прогрев %d с%n", options.getWarmupSeconds());
+            run(workload, options.getThreads(), options.getWarmupSeconds());
+            workload.getRecorders().values().forEach(LatencyRecorder::reset);
+            System.out.printf("Замер %d с в %d потоков%n", options.getDurationSeconds(), options.getThreads());
+            long started = System.nanoTime();
+            run(workload, options.getThreads(), options.getDurationSeconds());
+            double seconds = (System.nanoTime() - started) / 1e9;
+            report(options, workload, seconds);
+        }
+    }
+
+    private static void run(Workload workload, int threads, int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                    workload.next();
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+    }
+
+    private static void report(LoadTestOptions options, Workload workload, double seconds) throws Exception {
+        List<LatencyRecorder.Summary> summaries = new ArrayList<>();
+        workload.getRecorders().values().forEach(recorder -> summaries.add(recorder.summarize(seconds)));
+
+        System.out.printf("%-22s %9s %7s %9s %9s %9s %9s %9s%n",
+                "Эндпоинт", "Запросов", "Ошибок", "RPS", "p50, мс", "p95, мс", "p99, мс", "max, мс");
+        for (LatencyRecorder.Summary summary : summaries) {
+            System.out.printf("%-22s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", summary.getEndpoint(),
+                    summary.getRequests(), summary.getErrors(), summary.getThroughput(),
+                    summary.getP50(), summary.getP95(), summary.getP99(), summary.getMax());
+        }
+        long total = summaries.stream().mapToLong(LatencyRecorder.Summary::getRequests).sum();
+        System.out.printf("Всего %d запросов, %.1f в секунду%n", total, total / seconds);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("threads", options.getThreads());
+        result.put("virtualThreads", options.isVirtualThreads());
+        result.put("durationSeconds", seconds);
+        result.put("users", options.getUsers());
+        result.put("itemsPerUser", options.getItemsPerUser());
+        result.put("bookingsPerItem", options.getBookingsPerItem());
+        result.put("throughput", total / seconds);
+        result.put("endpoints", summaries);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(options.getResult().toFile(), result);
+        System.out.println("Результаты записаны в " + options.getResult().toAbsolutePath());
+    }
+
+    private static String driverClassName(String dbUrl) {
+        if (dbUrl.startsWith("jdbc:postgresql:")) {
+            return "org.postgresql.Driver";
+        }
+        if (dbUrl.startsWith("jdbc:h2:")) {
+            return "org.h2.Driver";
+        }
+        throw new IllegalArgumentException("Неподдерживаемая БД: " + dbUrl);
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Параметры нагрузочного теста в виде аргументов --ключ=значение.
+ * Объемы данных задаются на пользователя и на вещь, чтобы их было просто масштабировать.
+ */
+@Getter
+public class LoadTestOptions {
+    private final int users;
+    private final int itemsPerUser;
+    private final int bookingsPerItem;
+    private final int commentsPerItem;
+    private final int requestsPerUser;
+    private final int threads;
+    private final int warmupSeconds;
+    private final int durationSeconds;
+    private final int serverPort;
+    private final int gatewayPort;
+    private final Path serverJar;
+    private final Path gatewayJar;
+    private final String dbUrl;
+    private final String dbUser;
+    private final String dbPassword;
+    private final Path result;
+    private final Path java;
+    private final boolean virtualThreads;
+
+    private LoadTestOptions(Map<String, String> values) {
+        users = intValue(values, "users", 200);
+        itemsPerUser = intValue(values, "items-per-user", 5);
+        bookingsPerItem = intValue(values, "bookings-per-item", 20);
+        commentsPerItem = intValue(values, "comments-per-item", 2);
+        requestsPerUser = intValue(values, "requests-per-user", 1);
+        threads = intValue(values, "threads", 16);
+        warmupSeconds = intValue(values, "warmup", 10);
+        durationSeconds = intValue(values, "duration", 60);
+        serverPort = intValue(values, "server-port", 19090);
+        gatewayPort = intValue(values, "gateway-port", 18080);
+        serverJar = Path.of(values.getOrDefault("server-jar", "server/target/shareit-server-0.0.1-SNAPSHOT.jar"));
+        gatewayJar = Path.of(values.getOrDefault("gateway-jar", "gateway/target/shareit-gateway-0.0.1-SNAPSHOT.jar"));
+        dbUrl = values.get("db-url");
+        dbUser = values.getOrDefault("db-user", "sa");
+        dbPassword = values.getOrDefault("db-password", "");
+        result = Path.of(values.getOrDefault("result", "load-test-result.json"));
+        java = Path.of(values.getOrDefault("java",
+                Path.of(System.getProperty("java.home"), "bin", "java").toString()));
+        virtualThreads = Boolean.parseBoolean(values.getOrDefault("virtual-threads", "false"));
+    }
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Ожидается аргумент вида --ключ=значение: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return new LoadTestOptions(values);
+    }
+
+    private static int intValue(Map<String, String> values, String key, int defaultValue) {
+        String value = values.get(key);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+}
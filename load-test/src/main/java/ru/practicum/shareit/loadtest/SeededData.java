@@ -0,0 +1,35 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Идентификаторы загруженных данных, из которых сценарий выбирает параметры запросов
+ */
+@Getter
+@RequiredArgsConstructor
+public class SeededData {
+    private final List<Long> userIds;
+    private final List<Long> requestIds;
+    private final List<ItemRef> items;
+    private final List<BookingRef> bookings;
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class ItemRef {
+        private final long id;
+        private final long ownerId;
+        private final boolean available;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class BookingRef {
+        private final long id;
+        private final ItemRef item;
+        private final long bookerId;
+        private final boolean past;
+    }
+}
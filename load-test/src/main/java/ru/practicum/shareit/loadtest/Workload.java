@@ -0,0 +1,205 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Смесь запросов к шлюзу с весами, заданными в коде: в основном чтение, плюс создание
+ * и подтверждение бронирований. Коллекции Postman не воспроизводятся: это последовательные
+ * функциональные сценарии с проверками, а не профиль нагрузки.
+ * Новые бронирования получают непересекающиеся интервалы далеко в будущем, чтобы не конфликтовать друг с другом.
+ */
+public class Workload {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final String[] SEARCH_TEXTS = {"дрель", "лодк", "походный", "ток", "велосипед", "стальной"};
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final String baseUrl;
+    private final SeededData data;
+    private final List<SeededData.ItemRef> availableItems;
+    private final List<Operation> operations = new ArrayList<>();
+    private final Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+    private final int totalWeight;
+    private final AtomicLong bookingSlot = new AtomicLong();
+    private final LocalDateTime bookingBase = LocalDateTime.now().plusYears(1).withNano(0);
+    private final ConcurrentLinkedQueue<long[]> waitingBookings = new ConcurrentLinkedQueue<>();
+
+    public Workload(String baseUrl, SeededData data) {
+        this.baseUrl = baseUrl;
+        this.data = data;
+        this.availableItems = data.getItems().stream()
+                .filter(SeededData.ItemRef::isAvailable)
+                .collect(Collectors.toList());
+        add("GET /items/{id}", 15, this::getItem);
+        add("GET /items", 10, random -> get("/items", randomUser(random)));
+        add("GET /items/search", 10, random -> get("/items/search?text="
+                + URLEncoder.encode(SEARCH_TEXTS[random.nextInt(SEARCH_TEXTS.length)], StandardCharsets.UTF_8),
+                randomUser(random)));
+        add("GET /bookings", 10, random -> get("/bookings?state=ALL", randomUser(random)));
+        add("GET /bookings/owner", 10, random -> get("/bookings/owner?state=ALL", randomUser(random)));
+        add("GET /bookings/{id}", 10, this::getBooking);
+        add("GET /requests", 5, random -> get("/requests", randomUser(random)));
+        add("GET /requests/all", 5, random -> get("/requests/all", randomUser(random)));
+        add("GET /requests/{id}", 5, random -> get("/requests/" + pick(data.getRequestIds(), random),
+                randomUser(random)));
+        add("GET /users/{id}", 5, random -> get("/users/" + randomUser(random), randomUser(random)));
+        add("POST /bookings", 10, this::createBooking);
+        add("PATCH /bookings/{id}", 5, this::approveBooking);
+        totalWeight = operations.stream().mapToInt(operation -> operation.weight).sum();
+    }
+
+    public Map<String, LatencyRecorder> getRecorders() {
+        return recorders;
+    }
+
+    /**
+     * Выполнение одного случайного запроса с учетом весов
+     */
+    public void next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int point = random.nextInt(totalWeight);
+        for (Operation operation : operations) {
+            point -= operation.weight;
+            if (point < 0) {
+                operation.execute(random);
+                return;
+            }
+        }
+    }
+
+    private void add(String endpoint, int weight, RequestFactory factory) {
+        LatencyRecorder recorder = new LatencyRecorder(endpoint);
+        recorders.put(endpoint, recorder);
+        operations.add(new Operation(weight, factory, recorder));
+    }
+
+    private Call getItem(ThreadLocalRandom random) {
+        SeededData.ItemRef item = pick(data.getItems(), random);
+        long userId = random.nextBoolean() ? item.getOwnerId() : randomUser(random);
+        return get("/items/" + item.getId(), userId);
+    }
+
+    private Call getBooking(ThreadLocalRandom random) {
+        SeededData.BookingRef booking = pick(data.getBookings(), random);
+        long userId = random.nextBoolean() ? booking.getBookerId() : booking.getItem().getOwnerId();
+        return get("/bookings/" + booking.getId(), userId);
+    }
+
+    private Call createBooking(ThreadLocalRandom random) {
+        SeededData.ItemRef item = pick(availableItems, random);
+        long bookerId;
+        do {
+            bookerId = randomUser(random);
+        } while (bookerId == item.getOwnerId() && data.getUserIds().size() > 1);
+        LocalDateTime start = bookingBase.plusMinutes(2 * bookingSlot.getAndIncrement());
+        String body = String.format("{\"itemId\":%d,\"start\":\"%s\",\"end\":\"%s\"}",
+                item.getId(), start, start.plusMinutes(1));
+        HttpRequest request = builder("/bookings", bookerId)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return new Call(request, response -> {
+            JsonNode id = mapper.readTree(response.body()).get("id");
+            if (id != null) {
+                waitingBookings.add(new long[]{id.asLong(), item.getOwnerId()});
+            }
+        });
+    }
+
+    private Call approveBooking(ThreadLocalRandom random) {
+        long[] booking = waitingBookings.poll();
+        if (booking == null) {
+            return get("/bookings/owner?state=WAITING", randomUser(random));
+        }
+        HttpRequest request = builder("/bookings/" + booking[0] + "?approved=" + random.nextBoolean(), booking[1])
+                .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                .build();
+        return new Call(request, null);
+    }
+
+    private Call get(String path, long userId) {
+        return new Call(builder(path, userId).GET().build(), null);
+    }
+
+    private HttpRequest.Builder builder(String path, long userId) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header(USER_HEADER, String.valueOf(userId));
+    }
+
+    private long randomUser(ThreadLocalRandom random) {
+        return pick(data.getUserIds(), random);
+    }
+
+    private static <T> T pick(List<T> values, ThreadLocalRandom random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private interface RequestFactory {
+        Call create(ThreadLocalRandom random);
+    }
+
+    private interface ResponseHandler {
+        void handle(HttpResponse<String> response) throws IOException;
+    }
+
+    private static class Call {
+        private final HttpRequest request;
+        private final ResponseHandler handler;
+
+        Call(HttpRequest request, ResponseHandler handler) {
+            this.request = request;
+            this.handler = handler;
+        }
+    }
+
+    private class Operation {
+        private final int weight;
+        private final RequestFactory factory;
+        private final LatencyRecorder recorder;
+
+        Operation(int weight, RequestFactory factory, LatencyRecorder recorder) {
+            this.weight = weight;
+            this.factory = factory;
+            this.recorder = recorder;
+        }
+
+        void execute(ThreadLocalRandom random) {
+            Call call = factory.create(random);
+            long start = System.nanoTime();
+            try {
+                HttpResponse<String> response = client.send(call.request, HttpResponse.BodyHandlers.ofString());
+                boolean success = response.statusCode() < 400;
+                recorder.record(System.nanoTime() - start, success);
+                if (success && call.handler != null) {
+                    call.handler.handle(response);
+                }
+            } catch (IOException e) {
+                recorder.record(System.nanoTime() - start, false);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -5,12 +5,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
 import ru.practicum.shareit.booking.dto.StateOfBooking;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.constants.HeaderConstants;
 
+import javax.servlet.http.HttpServletResponse;
 import java.util.List;
 
 @RestController
@@ -46,7 +48,15 @@ public class BookingController {
             @RequestHeader(HeaderConstants.X_SHARER_USER_ID) long userId,
             @RequestParam(defaultValue = HeaderConstants.DEFAULT_STATE_VALUE) StateOfBooking state,
             @RequestParam(defaultValue = HeaderConstants.DEFAULT_FROM_VALUE) int from,
-            @RequestParam(defaultValue = HeaderConstants.DEFAULT_SIZE_VALUE) int size) {
+            @RequestParam(defaultValue = HeaderConstants.DEFAULT_SIZE_VALUE) int size,
+            @RequestParam(required = false) String cursor,
+            HttpServletResponse response) {
+        if (cursor != null) {
+            List<BookingDtoOut> bookings = bookingService.getAllBookingByUser(userId, state,
+                    BookingCursor.decode(cursor), size);
+            setNextCursor(response, bookings, size);
+            return bookings;
+        }
         Pageable pageable = PageRequest.of(from / size, size);
         return bookingService.getAllBookingByUser(userId, state, pageable);
     }
@@ -56,9 +66,26 @@ public class BookingController {
             @RequestHeader(HeaderConstants.X_SHARER_USER_ID) long userId,
             @RequestParam(defaultValue = HeaderConstants.DEFAULT_STATE_VALUE) StateOfBooking state,
             @RequestParam(defaultValue = HeaderConstants.DEFAULT_FROM_VALUE) int from,
-            @RequestParam(defaultValue = HeaderConstants.DEFAULT_SIZE_VALUE) int size) {
+            @RequestParam(defaultValue = HeaderConstants.DEFAULT_SIZE_VALUE) int size,
+            @RequestParam(required = false) String cursor,
+            HttpServletResponse response) {
+        if (cursor != null) {
+            List<BookingDtoOut> bookings = bookingService.getAllBookingsByItemOwner(userId, state,
+                    BookingCursor.decode(cursor), size);
+            setNextCursor(response, bookings, size);
+            return bookings;
+        }
         Pageable pageable = PageRequest.of(from / size, size);
         return bookingService.getAllBookingsByItemOwner(userId, state, pageable);
     }
 
+    /**
+     * Курсор следующей страницы передается в заголовке, только если текущая страница заполнена целиком
+     */
+    private void setNextCursor(HttpServletResponse response, List<BookingDtoOut> bookings, int size) {
+        if (!bookings.isEmpty() && bookings.size() == size) {
+            response.setHeader(HeaderConstants.X_NEXT_CURSOR,
+                    BookingCursor.of(bookings.get(bookings.size() - 1)).encode());
+        }
+    }
 }
@@ -4,8 +4,11 @@ import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
 import ru.practicum.shareit.booking.dto.BookingDtoShort;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingView;
+import ru.practicum.shareit.item.dto.ItemDtoShort;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.user.UserMapper;
+import ru.practicum.shareit.user.dto.UserDtoShort;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -30,6 +33,23 @@ public class BookingMapper {
         return dto;
     }
 
+    public static BookingDtoOut fromBookingViewToDtoOut(BookingView booking) {
+        ItemDtoShort item = new ItemDtoShort();
+        item.setId(booking.getItemId());
+        item.setName(booking.getItemName());
+        UserDtoShort booker = new UserDtoShort();
+        booker.setId(booking.getBookerId());
+
+        BookingDtoOut dto = new BookingDtoOut();
+        dto.setId(booking.getId());
+        dto.setStart(booking.getStart());
+        dto.setEnd(booking.getEnd());
+        dto.setItem(item);
+        dto.setBooker(booker);
+        dto.setStatus(booking.getStatus());
+        return dto;
+    }
+
     public static BookingDtoShort fromBookingToBookingDtoShort(Booking booking) {
         BookingDtoShort bookingDtoShort = new BookingDtoShort();
         bookingDtoShort.setId(booking.getId());
@@ -42,4 +62,10 @@ public class BookingMapper {
                 .map(BookingMapper::fromBookingToDtoOut)
                 .collect(Collectors.toList());
     }
+
+    public static List<BookingDtoOut> fromListOfBookingViewToDtoOut(List<BookingView> bookings) {
+        return bookings.stream()
+                .map(BookingMapper::fromBookingViewToDtoOut)
+                .collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import ru.practicum.shareit.exception.IncorrectException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Курсор постраничной выдачи бронирований: позиция последнего отданного бронирования
+ * в порядке (start DESC, id DESC). Клиенту передается в виде непрозрачной строки.
+ * Пустой курсор означает первую страницу.
+ */
+@Getter
+@EqualsAndHashCode
+@RequiredArgsConstructor
+public class BookingCursor {
+    public static final BookingCursor FIRST_PAGE =
+            new BookingCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+    private static final String SEPARATOR = "_";
+
+    private final LocalDateTime start;
+    private final long id;
+
+    public static BookingCursor of(BookingDtoOut booking) {
+        return new BookingCursor(booking.getStart(), booking.getId());
+    }
+
+    public static BookingCursor decode(String token) {
+        if (token.isBlank()) {
+            return FIRST_PAGE;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+            return new BookingCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IncorrectException("Некорректный курсор", HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((start + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
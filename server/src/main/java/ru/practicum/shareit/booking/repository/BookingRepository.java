@@ -2,6 +2,7 @@ package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.StatusOfBooking;
 
@@ -9,44 +10,148 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+    /**
+     * Списки бронирований только для чтения: одним запросом выбираются ровно те столбцы бронирования
+     * и вещи, которые нужны BookingDtoOut, без создания сущностей и их отслеживания в контексте персистентности.
+     * Бронирующий берется из внешнего ключа, таблица users в запрос не входит.
+     */
+    String BOOKING_VIEW = "SELECT new ru.practicum.shareit.booking.repository.BookingView(" +
+            "b.id, b.start, b.end, i.id, i.name, b.booker.id, b.status) FROM Booking b JOIN b.item i ";
+
+    @Query(BOOKING_VIEW + "WHERE b.booker.id = ?1 ORDER BY b.start DESC")
+    List<BookingView> findAllByBookerIdOrderByStartDesc(long userId, Pageable pageable);
+
+    @Query(BOOKING_VIEW + "WHERE b.booker.id = ?1 " +
+            "AND b.start < ?2 AND b.end > ?3 ORDER BY b.start DESC")
+    List<BookingView> findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
+            long userId, LocalDateTime start, LocalDateTime end, Pageable pageable
+    );
+
+    @Query(BOOKING_VIEW + "WHERE b.booker.id = ?1 AND b.end < ?2 ORDER BY b.start DESC")
+    List<BookingView> findAllByBookerIdAndEndBeforeOrderByStartDesc(long userId, LocalDateTime end, Pageable pageable);
 
-    List<Booking> findAllByBookerIdOrderByStartDesc(long userId, Pageable pageable);
+    @Query(BOOKING_VIEW + "WHERE b.booker.id = ?1 AND b.start > ?2 ORDER BY b.start DESC")
+    List<BookingView> findAllByBookerIdAndStartAfterOrderByStartDesc(
+            long userId, LocalDateTime start, Pageable pageable
+    );
+
+    @Query(BOOKING_VIEW + "WHERE b.booker.id = ?1 AND b.status = ?2 ORDER BY b.start DESC")
+    List<BookingView> findAllByBookerIdAndStatusOrderByStartDesc(
+            long userId, StatusOfBooking status, Pageable pageable
+    );
 
-    List<Booking> findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
+    @Query(BOOKING_VIEW + "WHERE i.owner.id = ?1 ORDER BY b.start DESC")
+    List<BookingView> findAllByItemOwnerIdOrderByStartDesc(long ownerId, Pageable pageable);
+
+    @Query(BOOKING_VIEW + "WHERE i.owner.id = ?1 " +
+            "AND b.start < ?2 AND b.end > ?3 ORDER BY b.start DESC")
+    List<BookingView> findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(
             long userId, LocalDateTime start, LocalDateTime end, Pageable pageable
     );
 
-    List<Booking> findAllByBookerIdAndEndBeforeOrderByStartDesc(long userId, LocalDateTime end, Pageable pageable);
+    @Query(BOOKING_VIEW + "WHERE i.owner.id = ?1 " +
+            "AND b.end < ?2 ORDER BY b.start DESC")
+    List<BookingView> findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(
+            long userId, LocalDateTime end, Pageable pageable
+    );
+
+    @Query(BOOKING_VIEW + "WHERE i.owner.id = ?1 " +
+            "AND b.start > ?2 ORDER BY b.start DESC")
+    List<BookingView> findAllByItemOwnerIdAndStartAfterOrderByStartDesc(
+            long userId, LocalDateTime start, Pageable pageable
+    );
+
+    @Query(BOOKING_VIEW + "WHERE i.owner.id = ?1 " +
+            "AND b.status = ?2 ORDER BY b.start DESC")
+    List<BookingView> findAllByItemOwnerIdAndStatusOrderByStartDesc(
+            long userId, StatusOfBooking status, Pageable pageable
+    );
 
-    List<Booking> findAllByBookerIdAndStartAfterOrderByStartDesc(long userId, LocalDateTime start, Pageable pageable);
+    /*
+     * Постраничная выдача по курсору (keyset pagination): следующая страница начинается сразу после
+     * бронирования (cursorStart, cursorId) в порядке (start DESC, id DESC), поэтому стоимость запроса
+     * не зависит от номера страницы. Размер страницы задается через Pageable без смещения.
+     * Условие курсора записано сравнением пар (start, id), которое PostgreSQL выполняет
+     * как одну границу диапазона по индексу (..., start_date DESC, booking_id DESC).
+     */
+
+    @Query(BOOKING_VIEW + "WHERE b.booker.id = ?1 " +
+            "AND (b.start, b.id) < (?2, ?3) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingView> findAllByBookerIdAfterCursor(
+            long userId, LocalDateTime cursorStart, long cursorId, Pageable pageable
+    );
 
-    List<Booking> findAllByBookerIdAndStatusOrderByStartDesc(long userId, StatusOfBooking status, Pageable pageable);
+    @Query(BOOKING_VIEW + "WHERE b.booker.id = ?1 AND b.start < ?4 AND b.end > ?4 " +
+            "AND (b.start, b.id) < (?2, ?3) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingView> findCurrentByBookerIdAfterCursor(
+            long userId, LocalDateTime cursorStart, long cursorId, LocalDateTime now, Pageable pageable
+    );
 
-    List<Booking> findAllByItemOwnerIdOrderByStartDesc(long ownerId, Pageable pageable);
+    @Query(BOOKING_VIEW + "WHERE b.booker.id = ?1 AND b.end < ?4 " +
+            "AND (b.start, b.id) < (?2, ?3) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingView> findPastByBookerIdAfterCursor(
+            long userId, LocalDateTime cursorStart, long cursorId, LocalDateTime now, Pageable pageable
+    );
 
-    List<Booking> findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-            long userId, LocalDateTime start, LocalDateTime end, Pageable pageable
+    @Query(BOOKING_VIEW + "WHERE b.booker.id = ?1 AND b.start > ?4 " +
+            "AND (b.start, b.id) < (?2, ?3) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingView> findFutureByBookerIdAfterCursor(
+            long userId, LocalDateTime cursorStart, long cursorId, LocalDateTime now, Pageable pageable
     );
 
-    List<Booking> findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(long userId, LocalDateTime end, Pageable pageable);
+    @Query(BOOKING_VIEW + "WHERE b.booker.id = ?1 AND b.status = ?4 " +
+            "AND (b.start, b.id) < (?2, ?3) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingView> findAllByBookerIdAndStatusAfterCursor(
+            long userId, LocalDateTime cursorStart, long cursorId, StatusOfBooking status, Pageable pageable
+    );
 
-    List<Booking> findAllByItemOwnerIdAndStartAfterOrderByStartDesc(long userId, LocalDateTime start, Pageable pageable);
+    @Query(BOOKING_VIEW + "WHERE i.owner.id = ?1 " +
+            "AND (b.start, b.id) < (?2, ?3) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingView> findAllByItemOwnerIdAfterCursor(
+            long userId, LocalDateTime cursorStart, long cursorId, Pageable pageable
+    );
 
-    List<Booking> findAllByItemOwnerIdAndStatusOrderByStartDesc(long userId, StatusOfBooking status, Pageable pageable);
+    @Query(BOOKING_VIEW + "WHERE i.owner.id = ?1 AND b.start < ?4 AND b.end > ?4 " +
+            "AND (b.start, b.id) < (?2, ?3) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingView> findCurrentByItemOwnerIdAfterCursor(
+            long userId, LocalDateTime cursorStart, long cursorId, LocalDateTime now, Pageable pageable
+    );
 
-    Booking findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(
-            long itemId, StatusOfBooking status, LocalDateTime start
+    @Query(BOOKING_VIEW + "WHERE i.owner.id = ?1 AND b.end < ?4 " +
+            "AND (b.start, b.id) < (?2, ?3) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingView> findPastByItemOwnerIdAfterCursor(
+            long userId, LocalDateTime cursorStart, long cursorId, LocalDateTime now, Pageable pageable
     );
 
-    Booking findFirstByItemIdAndStartBeforeOrderByStartDesc(long itemId, LocalDateTime start);
+    @Query(BOOKING_VIEW + "WHERE i.owner.id = ?1 AND b.start > ?4 " +
+            "AND (b.start, b.id) < (?2, ?3) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingView> findFutureByItemOwnerIdAfterCursor(
+            long userId, LocalDateTime cursorStart, long cursorId, LocalDateTime now, Pageable pageable
+    );
 
-    List<Booking> findAllByItemIdAndBookerIdAndEndBeforeAndStatus(
-            long itemId, long userId, LocalDateTime start, StatusOfBooking status
+    @Query(BOOKING_VIEW + "WHERE i.owner.id = ?1 AND b.status = ?4 " +
+            "AND (b.start, b.id) < (?2, ?3) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingView> findAllByItemOwnerIdAndStatusAfterCursor(
+            long userId, LocalDateTime cursorStart, long cursorId, StatusOfBooking status, Pageable pageable
     );
 
-    List<Booking> findByItemIdAndStatus(long itemId, StatusOfBooking status);
+    boolean existsByItemIdAndBookerIdAndEndBeforeAndStatus(
+            long itemId, long userId, LocalDateTime end, StatusOfBooking status
+    );
 
-    List<Booking> findAllByItemIdIn(List<Long> itemIds);
+    boolean existsByItemIdAndStatusAndStartLessThanEqualAndEndGreaterThanEqual(
+            long itemId, StatusOfBooking status, LocalDateTime end, LocalDateTime start
+    );
 }
 
 
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.repository;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.booking.model.StatusOfBooking;
+
+import java.time.LocalDateTime;
+
+/**
+ * Проекция бронирования со столбцами, нужными списку бронирований (BookingDtoOut).
+ * Заполняется конструктором прямо в JPQL-запросе: сущности не создаются и не попадают в контекст персистентности.
+ */
+@Getter
+@RequiredArgsConstructor
+public class BookingView {
+    private final Long id;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private final Long itemId;
+    private final String itemName;
+    private final Long bookerId;
+    private final StatusOfBooking status;
+}
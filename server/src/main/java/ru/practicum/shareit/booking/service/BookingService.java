@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking.service;
 
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
 import ru.practicum.shareit.booking.dto.StateOfBooking;
@@ -18,4 +19,9 @@ public interface BookingService {
     List<BookingDtoOut> getAllBookingByUser(long userId, StateOfBooking stateOfBooking, Pageable pageable);
 
     List<BookingDtoOut> getAllBookingsByItemOwner(long userId, StateOfBooking stateOfBooking, Pageable pageable);
+
+    List<BookingDtoOut> getAllBookingByUser(long userId, StateOfBooking stateOfBooking, BookingCursor cursor, int size);
+
+    List<BookingDtoOut> getAllBookingsByItemOwner(long userId, StateOfBooking stateOfBooking,
+                                                  BookingCursor cursor, int size);
 }
\ No newline at end of file
@@ -1,11 +1,14 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
 import ru.practicum.shareit.booking.dto.StateOfBooking;
@@ -18,7 +21,7 @@ import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserValidator;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -27,14 +30,13 @@ import java.util.List;
 @RequiredArgsConstructor
 @Transactional
 public class BookingServiceImpl implements BookingService {
-    private final UserRepository userRepository;
+    private final UserValidator userValidator;
     private final ItemRepository itemRepository;
     private final BookingRepository bookingRepository;
 
     @Override
     public BookingDtoOut createBooking(long userId, BookingDtoIn bookingDtoIn) {
-        User booker = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь не найден", HttpStatus.NOT_FOUND));
+        User booker = userValidator.getReference(userId);
         Item item = itemRepository.findById(bookingDtoIn.getItemId())
                 .orElseThrow(() -> new NotFoundException("Вещь не найдена", HttpStatus.NOT_FOUND));
         if (!item.getAvailable()) {
@@ -43,10 +45,7 @@ public class BookingServiceImpl implements BookingService {
         if (item.getOwner().getId() == userId) {
             throw new NotFoundException("Владелец не может бронировать свою вещь", HttpStatus.NOT_FOUND);
         }
-        List<Booking> bookings = bookingRepository.findByItemIdAndStatus(item.getId(), StatusOfBooking.APPROVED);
-
-        boolean isConflicting = bookings.stream().anyMatch(booking -> isBookingConflict(booking, bookingDtoIn));
-        if (isConflicting) {
+        if (existsApprovedOverlap(item.getId(), bookingDtoIn.getStart(), bookingDtoIn.getEnd())) {
             throw new BookingAvailableException("Вещь забронирована на запрашиваемые даты", HttpStatus.BAD_REQUEST);
         }
 
@@ -60,34 +59,20 @@ public class BookingServiceImpl implements BookingService {
     }
 
     /**
-     * newStartInsideExisting - начало нового бронирования находится внутри существующего бронирования.
-     * newEndInsideExisting - конец нового бронирования находится внутри существующего бронирования.
-     * newBookingContainsExisting - новое бронирование пересекает существующее бронирование с обеих сторон (полностью содержит его).
-     * newBookingTouchesExisting - новое бронирование только касается существующего бронирования.
-     *
-     * @param existingBooking существующая бронь
-     * @param newBooking      новая бронь
-     * @return результат проверки на возможные пересечения во времени
+     * Проверка пересечения периода с подтвержденными бронированиями вещи запросом EXISTS к БД.
+     * Пересечением считается любое общее время, в том числе касание границ.
+     * Гонку двух одновременных подтверждений в PostgreSQL закрывает ограничение исключения на таблице bookings.
      */
-    private boolean isBookingConflict(Booking existingBooking, BookingDtoIn newBooking) {
-        boolean newStartInsideExisting = existingBooking.getStart().isBefore(newBooking.getStart())
-                && existingBooking.getEnd().isAfter(newBooking.getStart());
-        boolean newEndInsideExisting = existingBooking.getStart().isBefore(newBooking.getEnd())
-                && existingBooking.getEnd().isAfter(newBooking.getEnd());
-        boolean newBookingContainsExisting = newBooking.getStart().isBefore(existingBooking.getStart())
-                && newBooking.getEnd().isAfter(existingBooking.getEnd());
-        boolean newBookingTouchesExisting = existingBooking.getEnd().isEqual(newBooking.getStart())
-                || newBooking.getEnd().isEqual(existingBooking.getStart());
-
-        return newStartInsideExisting || newEndInsideExisting || newBookingContainsExisting || newBookingTouchesExisting;
+    private boolean existsApprovedOverlap(long itemId, LocalDateTime start, LocalDateTime end) {
+        return bookingRepository.existsByItemIdAndStatusAndStartLessThanEqualAndEndGreaterThanEqual(
+                itemId, StatusOfBooking.APPROVED, end, start);
     }
 
     @Override
     public BookingDtoOut updateStatus(long userId, boolean approved, long bookingId) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Бронирование не найдено", HttpStatus.NOT_FOUND));
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь не найден", HttpStatus.NOT_FOUND));
+        userValidator.checkExists(userId);
 
         if (booking.getItem().getOwner().getId() != userId) {
             throw new NotFoundException("Только владелец может подтвердить/отклонить бронь", HttpStatus.NOT_FOUND);
@@ -95,9 +80,21 @@ public class BookingServiceImpl implements BookingService {
         if (!booking.getStatus().equals(StatusOfBooking.WAITING)) {
             throw new BookingAvailableException("Бронь уже подтверждена или отклонена", HttpStatus.BAD_REQUEST);
         }
-        booking.setStatus(approved ? StatusOfBooking.APPROVED : StatusOfBooking.REJECTED);
+        if (!approved) {
+            booking.setStatus(StatusOfBooking.REJECTED);
+            return BookingMapper.fromBookingToDtoOut(bookingRepository.save(booking));
+        }
+        if (existsApprovedOverlap(booking.getItem().getId(), booking.getStart(), booking.getEnd())) {
+            throw new BookingAvailableException("Вещь забронирована на запрашиваемые даты", HttpStatus.BAD_REQUEST);
+        }
+        booking.setStatus(StatusOfBooking.APPROVED);
 
-        Booking savedBooking = bookingRepository.save(booking);
+        Booking savedBooking;
+        try {
+            savedBooking = bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            throw new BookingAvailableException("Вещь забронирована на запрашиваемые даты", HttpStatus.BAD_REQUEST);
+        }
 
         return BookingMapper.fromBookingToDtoOut(savedBooking);
     }
@@ -107,8 +104,7 @@ public class BookingServiceImpl implements BookingService {
     public BookingDtoOut getBooking(long userId, long bookingId) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Бронирование не найдено", HttpStatus.NOT_FOUND));
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь не найден", HttpStatus.NOT_FOUND));
+        userValidator.checkExists(userId);
 
         if (booking.getBooker().getId() != userId && booking.getItem().getOwner().getId() != userId) {
             throw new NotFoundException("Для данного пользователя бронирования не найдены", HttpStatus.NOT_FOUND);
@@ -119,27 +115,26 @@ public class BookingServiceImpl implements BookingService {
     @Override
     @Transactional(readOnly = true)
     public List<BookingDtoOut> getAllBookingByUser(long userId, StateOfBooking stateOfBooking, Pageable pageable) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь не найден", HttpStatus.NOT_FOUND));
+        userValidator.checkExists(userId);
         LocalDateTime now = LocalDateTime.now();
         switch (stateOfBooking) {
             case ALL:
-                return BookingMapper.fromListOfBookingToDtoOut(bookingRepository
+                return BookingMapper.fromListOfBookingViewToDtoOut(bookingRepository
                         .findAllByBookerIdOrderByStartDesc(userId, pageable));
             case CURRENT:
-                return BookingMapper.fromListOfBookingToDtoOut(bookingRepository
+                return BookingMapper.fromListOfBookingViewToDtoOut(bookingRepository
                         .findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(userId, now, now, pageable));
             case PAST:
-                return BookingMapper.fromListOfBookingToDtoOut(bookingRepository
+                return BookingMapper.fromListOfBookingViewToDtoOut(bookingRepository
                         .findAllByBookerIdAndEndBeforeOrderByStartDesc(userId, now, pageable));
             case FUTURE:
-                return BookingMapper.fromListOfBookingToDtoOut(bookingRepository
+                return BookingMapper.fromListOfBookingViewToDtoOut(bookingRepository
                         .findAllByBookerIdAndStartAfterOrderByStartDesc(userId, now, pageable));
             case WAITING:
-                return BookingMapper.fromListOfBookingToDtoOut(bookingRepository
+                return BookingMapper.fromListOfBookingViewToDtoOut(bookingRepository
                         .findAllByBookerIdAndStatusOrderByStartDesc(userId, StatusOfBooking.WAITING, pageable));
             case REJECTED:
-                return BookingMapper.fromListOfBookingToDtoOut(bookingRepository
+                return BookingMapper.fromListOfBookingViewToDtoOut(bookingRepository
                         .findAllByBookerIdAndStatusOrderByStartDesc(userId, StatusOfBooking.REJECTED, pageable));
             default:
                 throw new IncorrectException("Статус не существует", HttpStatus.BAD_REQUEST);
@@ -150,30 +145,95 @@ public class BookingServiceImpl implements BookingService {
     @Override
     @Transactional(readOnly = true)
     public List<BookingDtoOut> getAllBookingsByItemOwner(long userId, StateOfBooking stateOfBooking, Pageable pageable) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь не найден", HttpStatus.NOT_FOUND));
+        userValidator.checkExists(userId);
         LocalDateTime now = LocalDateTime.now();
         switch (stateOfBooking) {
             case ALL:
-                return BookingMapper.fromListOfBookingToDtoOut(bookingRepository
+                return BookingMapper.fromListOfBookingViewToDtoOut(bookingRepository
                         .findAllByItemOwnerIdOrderByStartDesc(userId, pageable));
             case CURRENT:
-                return BookingMapper.fromListOfBookingToDtoOut(bookingRepository
+                return BookingMapper.fromListOfBookingViewToDtoOut(bookingRepository
                         .findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(userId, now, now, pageable));
             case PAST:
-                return BookingMapper.fromListOfBookingToDtoOut(bookingRepository
+                return BookingMapper.fromListOfBookingViewToDtoOut(bookingRepository
                         .findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(userId, now, pageable));
             case FUTURE:
-                return BookingMapper.fromListOfBookingToDtoOut(bookingRepository
+                return BookingMapper.fromListOfBookingViewToDtoOut(bookingRepository
                         .findAllByItemOwnerIdAndStartAfterOrderByStartDesc(userId, now, pageable));
             case WAITING:
-                return BookingMapper.fromListOfBookingToDtoOut(bookingRepository
+                return BookingMapper.fromListOfBookingViewToDtoOut(bookingRepository
                         .findAllByItemOwnerIdAndStatusOrderByStartDesc(userId, StatusOfBooking.WAITING, pageable));
             case REJECTED:
-                return BookingMapper.fromListOfBookingToDtoOut(bookingRepository
+                return BookingMapper.fromListOfBookingViewToDtoOut(bookingRepository
                         .findAllByItemOwnerIdAndStatusOrderByStartDesc(userId, StatusOfBooking.REJECTED, pageable));
             default:
                 throw new IncorrectException("Статус не существует", HttpStatus.BAD_REQUEST);
         }
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingDtoOut> getAllBookingByUser(long userId, StateOfBooking stateOfBooking,
+                                                   BookingCursor cursor, int size) {
+        userValidator.checkExists(userId);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = cursor.getStart();
+        long id = cursor.getId();
+        Pageable page = PageRequest.of(0, size);
+        switch (stateOfBooking) {
+            case ALL:
+                return BookingMapper.fromListOfBookingViewToDtoOut(bookingRepository
+                        .findAllByBookerIdAfterCursor(userId, start, id, page));
+            case CURRENT:
+                return BookingMapper.fromListOfBookingViewToDtoOut(bookingRepository
+                        .findCurrentByBookerIdAfterCursor(userId, start, id, now, page));
+            case PAST:
+                return BookingMapper.fromListOfBookingViewToDtoOut(bookingRepository
+                        .findPastByBookerIdAfterCursor(userId, start, id, now, page));
+            case FUTURE:
+                return BookingMapper.fromListOfBookingViewToDtoOut(bookingRepository
+                        .findFutureByBookerIdAfterCursor(userId, start, id, now, page));
+            case WAITING:
+                return BookingMapper.fromListOfBookingViewToDtoOut(bookingRepository
+                        .findAllByBookerIdAndStatusAfterCursor(userId, start, id, StatusOfBooking.WAITING, page));
+            case REJECTED:
+                return BookingMapper.fromListOfBookingViewToDtoOut(bookingRepository
+                        .findAllByBookerIdAndStatusAfterCursor(userId, start, id, StatusOfBooking.REJECTED, page));
+            default:
+                throw new IncorrectException("Статус не существует", HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingDtoOut> getAllBookingsByItemOwner(long userId, StateOfBooking stateOfBooking,
+                                                         BookingCursor cursor, int size) {
+        userValidator.checkExists(userId);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = cursor.getStart();
+        long id = cursor.getId();
+        Pageable page = PageRequest.of(0, size);
+        switch (stateOfBooking) {
+            case ALL:
+                return BookingMapper.fromListOfBookingViewToDtoOut(bookingRepository
+                        .findAllByItemOwnerIdAfterCursor(userId, start, id, page));
+            case CURRENT:
+                return BookingMapper.fromListOfBookingViewToDtoOut(bookingRepository
+                        .findCurrentByItemOwnerIdAfterCursor(userId, start, id, now, page));
+            case PAST:
+                return BookingMapper.fromListOfBookingViewToDtoOut(bookingRepository
+                        .findPastByItemOwnerIdAfterCursor(userId, start, id, now, page));
+            case FUTURE:
+                return BookingMapper.fromListOfBookingViewToDtoOut(bookingRepository
+                        .findFutureByItemOwnerIdAfterCursor(userId, start, id, now, page));
+            case WAITING:
+                return BookingMapper.fromListOfBookingViewToDtoOut(bookingRepository
+                        .findAllByItemOwnerIdAndStatusAfterCursor(userId, start, id, StatusOfBooking.WAITING, page));
+            case REJECTED:
+                return BookingMapper.fromListOfBookingViewToDtoOut(bookingRepository
+                        .findAllByItemOwnerIdAndStatusAfterCursor(userId, start, id, StatusOfBooking.REJECTED, page));
+            default:
+                throw new IncorrectException("Статус не существует", HttpStatus.BAD_REQUEST);
+        }
+    }
 }
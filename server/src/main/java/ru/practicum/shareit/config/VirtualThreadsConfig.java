@@ -0,0 +1,73 @@
+package ru.practicum.shareit.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Обработка запросов Tomcat на виртуальных потоках (shareit.virtual-threads.enabled=true).
+ * Сборка остается на Java 11, поэтому исполнитель создается через reflection и режим доступен
+ * только при запуске на Java 21 и новее; на более старой JVM приложение не стартует.
+ * Число виртуальных потоков не ограничено, поэтому доступ к соединениям с БД ограничивается
+ * семафором {@link JdbcPermitDataSource}: лишние запросы ждут разрешения ограниченное время, а не копятся в очереди пула.
+ * Создание исполнителя и настройка Tomcat повторяют одноименный класс в шлюзе, отличается только ограничение
+ * доступа к БД. Общего модуля у шлюза и сервера нет, поэтому изменения нужно вносить в оба класса.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.virtual-threads.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadsConfig {
+    /* Значения Hikari по умолчанию */
+    private static final int DEFAULT_POOL_SIZE = 10;
+    private static final Duration DEFAULT_PERMIT_TIMEOUT = Duration.ofSeconds(30);
+
+    @Bean
+    public ExecutorService virtualThreadExecutor() {
+        try {
+            ExecutorService executor = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+            log.info("Запросы обрабатываются на виртуальных потоках");
+            return executor;
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Виртуальные потоки недоступны в Java "
+                    + System.getProperty("java.version") + ", требуется Java 21 или новее", e);
+        }
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadsProtocolHandlerCustomizer(
+            ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+    @Bean
+    public static BeanPostProcessor jdbcPermitDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource) || bean instanceof JdbcPermitDataSource) {
+                    return bean;
+                }
+                int permits = environment.getProperty("shareit.jdbc-permits.max", Integer.class,
+                        environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class,
+                                DEFAULT_POOL_SIZE));
+                Duration timeout = environment.getProperty("shareit.jdbc-permits.timeout", Duration.class,
+                        DEFAULT_PERMIT_TIMEOUT);
+                log.info("Доступ к БД ограничен {} разрешениями, ожидание до {}", permits, timeout);
+                return new JdbcPermitDataSource((DataSource) bean, permits, timeout);
+            }
+        };
+    }
+}
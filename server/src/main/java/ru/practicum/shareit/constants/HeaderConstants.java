@@ -2,6 +2,7 @@ package ru.practicum.shareit.constants;
 
 public class HeaderConstants {
     public static final String X_SHARER_USER_ID = "X-Sharer-User-Id";
+    public static final String X_NEXT_CURSOR = "X-Next-Cursor";
     public static final String DEFAULT_STATE_VALUE = "ALL";
     public static final String DEFAULT_FROM_VALUE = "0";
     public static final String DEFAULT_SIZE_VALUE = "20";
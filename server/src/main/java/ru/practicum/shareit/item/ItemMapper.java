@@ -1,9 +1,12 @@
 package ru.practicum.shareit.item;
 
+import ru.practicum.shareit.booking.dto.BookingDtoShort;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoRequested;
 import ru.practicum.shareit.item.dto.ItemDtoShort;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemView;
+import ru.practicum.shareit.item.repository.ItemWithBookings;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -28,6 +31,32 @@ public class ItemMapper {
         return dto;
     }
 
+    public static ItemDto fromItemViewToDto(ItemView item) {
+        ItemDto dto = new ItemDto();
+        dto.setId(item.getId());
+        dto.setName(item.getName());
+        dto.setDescription(item.getDescription());
+        dto.setAvailable(item.getAvailable());
+        dto.setRequestId(item.getRequestId());
+        return dto;
+    }
+
+    public static ItemDto fromItemWithBookingsToDto(ItemWithBookings item) {
+        ItemDto dto = new ItemDto();
+        dto.setId(item.getId());
+        dto.setName(item.getName());
+        dto.setDescription(item.getDescription());
+        dto.setAvailable(item.getAvailable());
+        dto.setRequestId(item.getRequestId());
+        if (item.getLastBookingId() != null) {
+            dto.setLastBooking(toBookingDtoShort(item.getLastBookingId(), item.getLastBookerId()));
+        }
+        if (item.getNextBookingId() != null) {
+            dto.setNextBooking(toBookingDtoShort(item.getNextBookingId(), item.getNextBookerId()));
+        }
+        return dto;
+    }
+
     public static ItemDtoRequested fromItemToItemDtoRequested(Item item) {
         ItemDtoRequested dto = new ItemDtoRequested();
         dto.setId(item.getId());
@@ -38,6 +67,16 @@ public class ItemMapper {
         return dto;
     }
 
+    public static ItemDtoRequested fromItemViewToItemDtoRequested(ItemView item) {
+        ItemDtoRequested dto = new ItemDtoRequested();
+        dto.setId(item.getId());
+        dto.setName(item.getName());
+        dto.setDescription(item.getDescription());
+        dto.setAvailable(item.getAvailable());
+        dto.setRequestId(item.getRequestId());
+        return dto;
+    }
+
     public static ItemDtoShort fromItemToItemDtoShort(Item item) {
         ItemDtoShort itemDtoShort = new ItemDtoShort();
         itemDtoShort.setId(item.getId());
@@ -51,9 +90,28 @@ public class ItemMapper {
                 .collect(Collectors.toList());
     }
 
+    public static List<ItemDto> fromListOfItemWithBookingsToDto(List<ItemWithBookings> items) {
+        return items.stream()
+                .map(ItemMapper::fromItemWithBookingsToDto)
+                .collect(Collectors.toList());
+    }
+
     public static List<ItemDtoRequested> fromListOfItemToDtoRequested(List<Item> items) {
         return items.stream()
                 .map(ItemMapper::fromItemToItemDtoRequested)
                 .collect(Collectors.toList());
     }
+
+    public static List<ItemDtoRequested> fromListOfItemViewToDtoRequested(List<ItemView> items) {
+        return items.stream()
+                .map(ItemMapper::fromItemViewToItemDtoRequested)
+                .collect(Collectors.toList());
+    }
+
+    private static BookingDtoShort toBookingDtoShort(Long bookingId, Long bookerId) {
+        BookingDtoShort booking = new BookingDtoShort();
+        booking.setId(bookingId);
+        booking.setBookerId(bookerId);
+        return booking;
+    }
 }
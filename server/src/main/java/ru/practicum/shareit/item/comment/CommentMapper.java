@@ -19,9 +19,24 @@ public class CommentMapper {
         return dto;
     }
 
+    public static CommentDto fromCommentViewToDto(CommentView comment) {
+        CommentDto dto = new CommentDto();
+        dto.setId(comment.getId());
+        dto.setText(comment.getText());
+        dto.setAuthorName(comment.getAuthorName());
+        dto.setCreated(comment.getCreated());
+        return dto;
+    }
+
     public static List<CommentDto> fromListOfCommentToDto(List<Comment> comments) {
         return comments.stream()
                 .map(CommentMapper::fromCommentToDto)
                 .collect(Collectors.toList());
     }
+
+    public static List<CommentDto> fromListOfCommentViewToDto(List<CommentView> comments) {
+        return comments.stream()
+                .map(CommentMapper::fromCommentViewToDto)
+                .collect(Collectors.toList());
+    }
 }
@@ -1,11 +1,20 @@
 package ru.practicum.shareit.item.comment;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findAllByItemId(long itemId);
+    /**
+     * Отзывы только для чтения: вместо сущности автора выбирается только его имя
+     */
+    String COMMENT_VIEW = "SELECT new ru.practicum.shareit.item.comment.CommentView(" +
+            "c.id, c.item.id, c.text, a.name, c.created) FROM Comment c JOIN c.author a ";
 
-    List<Comment> findAllByItemIdIn(List<Long> itemIds);
+    @Query(COMMENT_VIEW + "WHERE c.item.id = ?1 ORDER BY c.id")
+    List<CommentView> findAllByItemId(long itemId);
+
+    @Query(COMMENT_VIEW + "WHERE c.item.id IN ?1 ORDER BY c.id")
+    List<CommentView> findAllByItemIdIn(List<Long> itemIds);
 }
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.comment;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Проекция отзыва с именем автора вместо сущности пользователя
+ */
+@Getter
+@RequiredArgsConstructor
+public class CommentView {
+    private final Long id;
+    private final Long itemId;
+    private final String text;
+    private final String authorName;
+    private final LocalDateTime created;
+}
@@ -3,20 +3,63 @@ package ru.practicum.shareit.item.repository;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
-    List<Item> findALLByOwnerIdOrderByIdAsc(long ownerId, Pageable pageable);
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
 
-    @Query("SELECT i FROM Item i " +
-            "WHERE LOWER(i.name) LIKE LOWER(CONCAT('%', ?1, '%')) " +
-            "OR LOWER(i.description) LIKE LOWER(CONCAT('%', ?1, '%')) " +
-            "AND i.available = true")
-    List<Item> findAllBySearch(String search, Pageable pageable);
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemSearchRepository {
+    /**
+     * Вещь с последним и ближайшим следующим подтвержденным бронированием.
+     * Каждое бронирование выбирается подзапросом по индексу (item_id, start_date),
+     * поэтому стоимость запроса зависит от числа вещей, а не от истории их бронирований.
+     * Параметр ?2 - текущий момент времени.
+     */
+    String ITEM_WITH_BOOKINGS = "SELECT i.item_id AS id, i.item_name AS name, i.description AS description, " +
+            "i.available AS available, i.owner_id AS ownerId, i.request_id AS requestId, " +
+            "lb.booking_id AS lastBookingId, lb.booker_id AS lastBookerId, " +
+            "nb.booking_id AS nextBookingId, nb.booker_id AS nextBookerId " +
+            "FROM items i " +
+            "LEFT JOIN bookings lb ON lb.booking_id = (SELECT b.booking_id FROM bookings b " +
+            "WHERE b.item_id = i.item_id AND b.start_date < ?2 " +
+            "ORDER BY b.start_date DESC LIMIT 1) " +
+            "LEFT JOIN bookings nb ON nb.booking_id = (SELECT b.booking_id FROM bookings b " +
+            "WHERE b.item_id = i.item_id AND b.status = 'APPROVED' AND b.start_date > ?2 " +
+            "ORDER BY b.start_date ASC LIMIT 1) ";
 
-    List<Item> findAllByItemRequestId(long requestId);
+    @Query(value = ITEM_WITH_BOOKINGS + "WHERE i.item_id = ?1", nativeQuery = true)
+    Optional<ItemWithBookings> findWithBookingsById(long itemId, LocalDateTime now);
 
-    List<Item> findAllByItemRequestIdIn(List<Long> requestIds);
+    @Query(value = ITEM_WITH_BOOKINGS + "WHERE i.owner_id = ?1 ORDER BY i.item_id", nativeQuery = true)
+    List<ItemWithBookings> findAllWithBookingsByOwnerId(long ownerId, LocalDateTime now, Pageable pageable);
+
+    /**
+     * Вещи только для чтения: столбцы ItemDto и ItemDtoRequested без владельца, бронирований и отзывов.
+     * Запрос вещи берется из внешнего ключа, таблица requests в запрос не входит.
+     */
+    String ITEM_VIEW = "SELECT new ru.practicum.shareit.item.repository.ItemView(" +
+            "i.id, i.name, i.description, i.available, i.itemRequest.id) FROM Item i ";
+
+    @Query(ITEM_VIEW + "WHERE i.itemRequest.id = ?1 ORDER BY i.id")
+    List<ItemView> findAllByItemRequestId(long requestId);
+
+    @Query(ITEM_VIEW + "WHERE i.itemRequest.id IN ?1 ORDER BY i.id")
+    List<ItemView> findAllByItemRequestIdIn(List<Long> requestIds);
+
+    @Query("SELECT i FROM Item i LEFT JOIN FETCH i.itemRequest WHERE i.available = true")
+    List<Item> findAllAvailable();
+
+    /**
+     * Проверка существования без загрузки вещи. Результат хранится в кэше запросов
+     * и сбрасывается при любом изменении таблицы items.
+     */
+    @Override
+    @Query("SELECT CASE WHEN COUNT(e) > 0 THEN true ELSE false END FROM Item e WHERE e.id = ?1")
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    boolean existsById(Long id);
 }
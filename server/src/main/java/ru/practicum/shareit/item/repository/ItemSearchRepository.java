@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.repository;
+
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public interface ItemSearchRepository {
+    /**
+     * Поиск доступных вещей, в названии или описании которых встречается строка поиска (без учета регистра).
+     * Результаты упорядочены по релевантности: сначала вещи с наиболее похожим названием.
+     * Вещи возвращаются проекцией, без загрузки сущностей.
+     */
+    List<ItemView> findAllBySearch(String search, Pageable pageable);
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.item.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Поиск вещей по названию и описанию.
+ * В PostgreSQL подстрока ищется по триграммным GIN-индексам (pg_trgm), а релевантность считается
+ * функцией similarity. В остальных БД (H2 в тестах) используется эквивалентный JPQL-запрос,
+ * где релевантность грубо оценивается по совпадению с названием.
+ */
+@Slf4j
+public class ItemSearchRepositoryImpl implements ItemSearchRepository {
+    private static final String POSTGRESQL = "PostgreSQL";
+    private static final String POSTGRESQL_SEARCH = "SELECT i.item_id, i.item_name, i.description, i.available, " +
+            "i.request_id FROM items i " +
+            "WHERE i.available = true " +
+            "AND (LOWER(i.item_name) LIKE :pattern ESCAPE '\\' OR LOWER(i.description) LIKE :pattern ESCAPE '\\') " +
+            "ORDER BY similarity(LOWER(i.item_name), :text) DESC, " +
+            "similarity(LOWER(i.description), :text) DESC, i.item_id";
+    private static final String JPQL_SEARCH = ItemRepository.ITEM_VIEW +
+            "WHERE i.available = true " +
+            "AND (LOWER(i.name) LIKE :pattern ESCAPE '\\' OR LOWER(i.description) LIKE :pattern ESCAPE '\\') " +
+            "ORDER BY CASE WHEN LOWER(i.name) = :text THEN 0 " +
+            "WHEN LOWER(i.name) LIKE :pattern ESCAPE '\\' THEN 1 ELSE 2 END, i.id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+    private final boolean postgresql;
+
+    public ItemSearchRepositoryImpl(DataSource dataSource) {
+        this.postgresql = POSTGRESQL.equals(databaseProductName(dataSource));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ItemView> findAllBySearch(String search, Pageable pageable) {
+        String text = search.toLowerCase();
+        String pattern = "%" + escapeLikePattern(text) + "%";
+        if (postgresql) {
+            List<Object[]> rows = entityManager.createNativeQuery(POSTGRESQL_SEARCH)
+                    .setParameter("text", text)
+                    .setParameter("pattern", pattern)
+                    .setFirstResult((int) pageable.getOffset())
+                    .setMaxResults(pageable.getPageSize())
+                    .getResultList();
+            return rows.stream()
+                    .map(ItemSearchRepositoryImpl::toItemView)
+                    .collect(Collectors.toList());
+        }
+        return entityManager.createQuery(JPQL_SEARCH, ItemView.class)
+                .setParameter("text", text)
+                .setParameter("pattern", pattern)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+
+    private static ItemView toItemView(Object[] row) {
+        return new ItemView(((Number) row[0]).longValue(), (String) row[1], (String) row[2], (Boolean) row[3],
+                row[4] == null ? null : ((Number) row[4]).longValue());
+    }
+
+    private static String escapeLikePattern(String text) {
+        return text.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    private static String databaseProductName(DataSource dataSource) {
+        try {
+            return JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        } catch (MetaDataAccessException e) {
+            log.warn("Не удалось определить СУБД, поиск вещей будет выполняться JPQL-запросом", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.repository;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Проекция вещи без владельца, бронирований и отзывов: столбцы результатов поиска (ItemDto)
+ * и вещей, созданных по запросу (ItemDtoRequested)
+ */
+@Getter
+@RequiredArgsConstructor
+public class ItemView {
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final Boolean available;
+    private final Long requestId;
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.item.repository;
+
+/**
+ * Проекция вещи вместе с id и автором последнего и ближайшего следующего бронирования
+ */
+public interface ItemWithBookings {
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    Boolean getAvailable();
+
+    Long getOwnerId();
+
+    Long getRequestId();
+
+    Long getLastBookingId();
+
+    Long getLastBookerId();
+
+    Long getNextBookingId();
+
+    Long getNextBookerId();
+}
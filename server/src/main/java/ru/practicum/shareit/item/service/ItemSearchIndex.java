@@ -0,0 +1,397 @@
+package ru.practicum.shareit.item.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.util.AfterCommit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Поисковый индекс доступных вещей в памяти приложения.
+ * Названия и описания разбиваются на триграммы, для каждой триграммы хранится отсортированный
+ * массив id вещей. Поиск подстроки пересекает списки триграмм запроса и проверяет найденных кандидатов,
+ * поэтому запрос к /items/search обслуживается без обращения к БД. Строки короче триграммы
+ * индекс не сужает, их ищет БД.
+ * Индекс хранит копию названий и описаний всех доступных вещей и обновляется после фиксации
+ * транзакций, изменивших вещь на этом экземпляре сервера; изменения с других экземпляров он не видит.
+ * Поэтому индекс включается явно (shareit.items.search.index.enabled=true) и подходит для
+ * единственного экземпляра сервера; по умолчанию поиск выполняется запросом к БД с ранжированием pg_trgm.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.items.search.index.enabled", havingValue = "true")
+@Slf4j
+public class ItemSearchIndex implements MeterBinder {
+    private static final int GRAM_LENGTH = 3;
+    /* Приблизительные накладные расходы JVM для оценки занимаемой индексом памяти */
+    private static final long ARRAY_HEADER_BYTES = 16;
+    private static final long MAP_ENTRY_BYTES = 48;
+    private static final long STRING_BYTES = 40;
+
+    private final Map<Long, IndexedItem> items = new HashMap<>();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /* id вещей, измененных во время прогрева: их состояние в индексе новее снимка из БД */
+    private Set<Long> changedDuringWarmUp;
+    private volatile boolean warmedUp;
+
+    /**
+     * @return true, если индекс прогрет и ему можно доверять
+     */
+    public boolean isWarmedUp() {
+        return warmedUp;
+    }
+
+    /**
+     * Сверка индекса со снимком доступных вещей из БД.
+     * Снимок читается без блокировки индекса и может устареть к моменту применения, поэтому
+     * вещи, измененные после начала прогрева, берутся из индекса, а не из снимка; остальные
+     * приводятся к снимку, в том числе удаляются отсутствующие в нем.
+     */
+    public void warmUp(Supplier<? extends Collection<ItemDto>> snapshot) {
+        lock.writeLock().lock();
+        try {
+            changedDuringWarmUp = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Collection<ItemDto> itemDtos;
+        try {
+            itemDtos = snapshot.get();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changedDuringWarmUp = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            Set<Long> snapshotIds = new HashSet<>();
+            for (ItemDto itemDto : itemDtos) {
+                snapshotIds.add(itemDto.getId());
+                if (!changedDuringWarmUp.contains(itemDto.getId())) {
+                    remove(itemDto.getId());
+                    put(new IndexedItem(itemDto));
+                }
+            }
+            for (Long itemId : new ArrayList<>(items.keySet())) {
+                if (!snapshotIds.contains(itemId) && !changedDuringWarmUp.contains(itemId)) {
+                    remove(itemId);
+                }
+            }
+            changedDuringWarmUp = null;
+            warmedUp = true;
+            log.info("Поисковый индекс вещей загружен: вещей {}, триграмм {}", items.size(), postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Поиск доступных вещей, в названии или описании которых встречается строка поиска (без учета регистра).
+     * Порядок: точное совпадение названия, вхождение в название, вхождение в описание, затем по id.
+     * Так же упорядочивает JPQL-запрос для H2, а PostgreSQL ранжирует по similarity из pg_trgm,
+     * поэтому при включении индекса порядок результатов на PostgreSQL меняется.
+     */
+    public List<ItemDto> search(String search, Pageable pageable) {
+        String text = search.toLowerCase();
+        // страница выбирается кучей из offset + size лучших совпадений без сортировки всех найденных
+        int top = (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize());
+        PriorityQueue<Match> best = new PriorityQueue<>(Match.BY_RELEVANCE.reversed());
+        lock.readLock().lock();
+        try {
+            for (IndexedItem item : candidates(text)) {
+                if (!item.matches(text)) {
+                    continue;
+                }
+                Match match = new Match(item, item.rank(text));
+                if (best.size() < top) {
+                    best.add(match);
+                } else if (Match.BY_RELEVANCE.compare(match, best.peek()) < 0) {
+                    best.poll();
+                    best.add(match);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return best.stream()
+                .sorted(Match.BY_RELEVANCE)
+                .skip(pageable.getOffset())
+                .map(match -> match.item.toDto())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return true, если строку можно искать по триграммам; более короткие строки ищутся запросом к БД
+     */
+    public boolean canSearch(String search) {
+        return search.length() >= GRAM_LENGTH;
+    }
+
+    /**
+     * Добавление или обновление вещи в индексе после фиксации текущей транзакции.
+     * Недоступные вещи в поиск не попадают, поэтому удаляются из индекса.
+     */
+    public void putAfterCommit(ItemDto itemDto) {
+        IndexedItem item = new IndexedItem(itemDto);
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                markChanged(item.id);
+                remove(item.id);
+                put(item);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Удаление вещи из индекса после фиксации текущей транзакции
+     */
+    public void removeAfterCommit(long itemId) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                markChanged(itemId);
+                remove(itemId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("shareit.items.search.index.items", this, index -> index.read(index.items::size))
+                .description("Количество вещей в поисковом индексе")
+                .register(registry);
+        Gauge.builder("shareit.items.search.index.grams", this, index -> index.read(index.postings::size))
+                .description("Количество триграмм в поисковом индексе")
+                .register(registry);
+        Gauge.builder("shareit.items.search.index.postings", this, index -> index.read(index::countPostings))
+                .description("Суммарная длина списков вхождений триграмм")
+                .register(registry);
+        Gauge.builder("shareit.items.search.index.memory", this, index -> index.read(index::estimateMemory))
+                .description("Оценка памяти, занимаемой поисковым индексом")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private long estimateMemory() {
+        long bytes = 0;
+        for (Map.Entry<String, PostingList> entry : postings.entrySet()) {
+            bytes += MAP_ENTRY_BYTES + STRING_BYTES + 2L * entry.getKey().length()
+                    + ARRAY_HEADER_BYTES + 8L * entry.getValue().ids.length;
+        }
+        for (IndexedItem item : items.values()) {
+            bytes += MAP_ENTRY_BYTES + item.estimateMemory();
+        }
+        return bytes;
+    }
+
+    private long countPostings() {
+        return postings.values().stream()
+                .mapToLong(postingList -> postingList.size)
+                .sum();
+    }
+
+    private double read(LongSupplier supplier) {
+        lock.readLock().lock();
+        try {
+            return supplier.getAsLong();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Collection<IndexedItem> candidates(String text) {
+        if (!canSearch(text)) {
+            return items.values();
+        }
+        List<PostingList> lists = new ArrayList<>();
+        for (String gram : grams(text)) {
+            PostingList postingList = postings.get(gram);
+            if (postingList == null) {
+                return List.of();
+            }
+            lists.add(postingList);
+        }
+        lists.sort(Comparator.comparingInt(postingList -> postingList.size));
+        PostingList smallest = lists.get(0);
+        List<IndexedItem> result = new ArrayList<>();
+        for (int i = 0; i < smallest.size; i++) {
+            long id = smallest.ids[i];
+            if (lists.stream().allMatch(postingList -> postingList.contains(id))) {
+                result.add(items.get(id));
+            }
+        }
+        return result;
+    }
+
+    private void markChanged(long itemId) {
+        if (changedDuringWarmUp != null) {
+            changedDuringWarmUp.add(itemId);
+        }
+    }
+
+    private void put(IndexedItem item) {
+        if (!item.available) {
+            return;
+        }
+        items.put(item.id, item);
+        for (String gram : item.grams()) {
+            postings.computeIfAbsent(gram, key -> new PostingList()).add(item.id);
+        }
+    }
+
+    private void remove(long itemId) {
+        IndexedItem item = items.remove(itemId);
+        if (item == null) {
+            return;
+        }
+        for (String gram : item.grams()) {
+            PostingList postingList = postings.get(gram);
+            postingList.remove(itemId);
+            if (postingList.size == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    /**
+     * Вещь в индексе: поля, необходимые для ответа на поиск, и их представление в нижнем регистре
+     */
+    private static class IndexedItem {
+        private final long id;
+        private final String name;
+        private final String description;
+        private final boolean available;
+        private final Long requestId;
+        private final String lowerName;
+        private final String lowerDescription;
+
+        IndexedItem(ItemDto itemDto) {
+            id = itemDto.getId();
+            name = itemDto.getName();
+            description = itemDto.getDescription();
+            available = Boolean.TRUE.equals(itemDto.getAvailable());
+            requestId = itemDto.getRequestId();
+            lowerName = name == null ? "" : name.toLowerCase();
+            lowerDescription = description == null ? "" : description.toLowerCase();
+        }
+
+        boolean matches(String text) {
+            return lowerName.contains(text) || lowerDescription.contains(text);
+        }
+
+        int rank(String text) {
+            if (lowerName.equals(text)) {
+                return 0;
+            }
+            return lowerName.contains(text) ? 1 : 2;
+        }
+
+        Set<String> grams() {
+            Set<String> grams = ItemSearchIndex.grams(lowerName);
+            grams.addAll(ItemSearchIndex.grams(lowerDescription));
+            return grams;
+        }
+
+        long estimateMemory() {
+            return 4 * STRING_BYTES + 4L * (lowerName.length() + lowerDescription.length());
+        }
+
+        ItemDto toDto() {
+            ItemDto dto = new ItemDto();
+            dto.setId(id);
+            dto.setName(name);
+            dto.setDescription(description);
+            dto.setAvailable(available);
+            dto.setRequestId(requestId);
+            return dto;
+        }
+    }
+
+    /**
+     * Найденная вещь и ее место в выдаче
+     */
+    private static class Match {
+        private static final Comparator<Match> BY_RELEVANCE = Comparator.comparingInt((Match match) -> match.rank)
+                .thenComparingLong(match -> match.item.id);
+
+        private final IndexedItem item;
+        private final int rank;
+
+        Match(IndexedItem item, int rank) {
+            this.item = item;
+            this.rank = rank;
+        }
+    }
+
+    /**
+     * Отсортированный список id вещей на примитивном массиве
+     */
+    private static class PostingList {
+        private long[] ids = new long[4];
+        private int size;
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        void add(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            int insertion = -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertion, ids, insertion + 1, size - insertion);
+            ids[insertion] = id;
+            size++;
+        }
+
+        void remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+/**
+ * Построение поискового индекса вещей при старте приложения, если индекс включен.
+ * Если построение не удалось, поиск продолжает выполняться запросом к БД.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.items.search.index.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class ItemSearchIndexLoader {
+    private final ItemRepository itemRepository;
+    private final ItemSearchIndex searchIndex;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        try {
+            searchIndex.warmUp(() -> ItemMapper.fromListOfItemToDto(itemRepository.findAllAvailable()));
+        } catch (DataAccessException e) {
+            log.error("Не удалось загрузить поисковый индекс вещей", e);
+        }
+    }
+}
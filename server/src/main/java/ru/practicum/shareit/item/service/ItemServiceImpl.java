@@ -1,12 +1,11 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.booking.BookingMapper;
-import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.StatusOfBooking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.AccessDeniedException;
@@ -17,13 +16,15 @@ import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.comment.CommentMapper;
 import ru.practicum.shareit.item.comment.CommentRepository;
+import ru.practicum.shareit.item.comment.CommentView;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
-import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.item.repository.ItemView;
+import ru.practicum.shareit.item.repository.ItemWithBookings;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserValidator;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -34,42 +35,44 @@ import java.util.stream.Collectors;
 @Transactional
 public class ItemServiceImpl implements ItemService {
     private final ItemRepository itemRepository;
-    private final UserRepository userRepository;
+    private final UserValidator userValidator;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository requestRepository;
+    private final ObjectProvider<ItemSearchIndex> searchIndex;
 
     @Override
     public ItemDto createItem(ItemDto itemDto, Long userId) {
-        User owner = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь не найден", HttpStatus.NOT_FOUND));
         Item item = ItemMapper.fromDtoToItem(itemDto);
-        item.setOwner(owner);
+        item.setOwner(userValidator.getReference(userId));
         Long requestId = itemDto.getRequestId();
         if (requestId != null) {
-            ItemRequest request = requestRepository.findById(requestId)
-                    .orElseThrow(() -> new NotFoundException("Запрос не найден", HttpStatus.NOT_FOUND));
-            item.setItemRequest(request);
+            if (!requestRepository.existsById(requestId)) {
+                throw new NotFoundException("Запрос не найден", HttpStatus.NOT_FOUND);
+            }
+            item.setItemRequest(requestRepository.getReferenceById(requestId));
         }
         Item createdItem = itemRepository.save(item);
+        ItemDto createdItemDto = ItemMapper.fromItemToDto(createdItem);
+        searchIndex.ifAvailable(index -> index.putAfterCommit(createdItemDto));
 
-        return ItemMapper.fromItemToDto(createdItem);
+        return createdItemDto;
     }
 
     @Override
     public CommentDto createComment(long userId, CommentDto commentDto, long itemId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь не найден", HttpStatus.NOT_FOUND));
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new NotFoundException("Вещь не найдена", HttpStatus.NOT_FOUND));
+        User author = userValidator.getReference(userId);
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException("Вещь не найдена", HttpStatus.NOT_FOUND);
+        }
         Comment comment = CommentMapper.fromDtoToComment(commentDto);
 
-        if (bookingRepository.findAllByItemIdAndBookerIdAndEndBeforeAndStatus(
-                itemId, userId, LocalDateTime.now(), StatusOfBooking.APPROVED).isEmpty()) {
+        if (!bookingRepository.existsByItemIdAndBookerIdAndEndBeforeAndStatus(
+                itemId, userId, LocalDateTime.now(), StatusOfBooking.APPROVED)) {
             throw new IncorrectException("Нельзя оставить отзыв на вещь которую не бронировали", HttpStatus.BAD_REQUEST);
         }
-        comment.setAuthor(user);
-        comment.setItem(item);
+        comment.setAuthor(author);
+        comment.setItem(itemRepository.getReferenceById(itemId));
         comment.setCreated(LocalDateTime.now());
         Comment savedComment = commentRepository.save(comment);
 
@@ -94,7 +97,9 @@ public class ItemServiceImpl implements ItemService {
             oldItem.setAvailable(itemDto.getAvailable());
         }
         Item updatedItem = itemRepository.save(oldItem);
-        return ItemMapper.fromItemToDto(updatedItem);
+        ItemDto updatedItemDto = ItemMapper.fromItemToDto(updatedItem);
+        searchIndex.ifAvailable(index -> index.putAfterCommit(updatedItemDto));
+        return updatedItemDto;
     }
 
     @Override
@@ -102,12 +107,15 @@ public class ItemServiceImpl implements ItemService {
     public ItemDto getById(long itemId, long userId) {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Вещь не найдена", HttpStatus.NOT_FOUND));
-        ItemDto itemDto = ItemMapper.fromItemToDto(item);
-        setComments(itemDto);
+        ItemDto itemDto;
         if (item.getOwner().getId() == userId) {
-            setNextBooking(itemDto);
-            setLastBooking(itemDto);
+            ItemWithBookings itemWithBookings = itemRepository.findWithBookingsById(itemId, LocalDateTime.now())
+                    .orElseThrow(() -> new NotFoundException("Вещь не найдена", HttpStatus.NOT_FOUND));
+            itemDto = ItemMapper.fromItemWithBookingsToDto(itemWithBookings);
+        } else {
+            itemDto = ItemMapper.fromItemToDto(item);
         }
+        setComments(itemDto);
         return itemDto;
     }
 
@@ -117,18 +125,21 @@ public class ItemServiceImpl implements ItemService {
         if (search.isEmpty()) {
             return new ArrayList<>();
         }
-        List<Item> items = itemRepository.findAllBySearch(search, pageable);
+        ItemSearchIndex index = searchIndex.getIfAvailable();
+        if (index != null && index.isWarmedUp() && index.canSearch(search)) {
+            return index.search(search, pageable);
+        }
+        List<ItemView> items = itemRepository.findAllBySearch(search, pageable);
         return items.stream()
-                .map(ItemMapper::fromItemToDto)
+                .map(ItemMapper::fromItemViewToDto)
                 .collect(Collectors.toList());
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ItemDto> getAllByOwner(long ownerId, Pageable pageable) {
-        List<Item> items = itemRepository.findALLByOwnerIdOrderByIdAsc(ownerId, pageable);
-        List<ItemDto> itemDtos = ItemMapper.fromListOfItemToDto(items);
-        setBookingsForList(itemDtos);
+        List<ItemDto> itemDtos = ItemMapper.fromListOfItemWithBookingsToDto(
+                itemRepository.findAllWithBookingsByOwnerId(ownerId, LocalDateTime.now(), pageable));
         setCommentsForListItems(itemDtos);
         return itemDtos;
     }
@@ -136,27 +147,12 @@ public class ItemServiceImpl implements ItemService {
     @Override
     public void deleteById(long itemId) {
         itemRepository.deleteById(itemId);
-    }
-
-    private void setNextBooking(ItemDto itemDto) {
-        Booking nextBooking = bookingRepository.findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(itemDto.getId(),
-                StatusOfBooking.APPROVED, LocalDateTime.now());
-        if (nextBooking != null) {
-            itemDto.setNextBooking(BookingMapper.fromBookingToBookingDtoShort(nextBooking));
-        }
-    }
-
-    private void setLastBooking(ItemDto itemDto) {
-        Booking lastBooking = bookingRepository.findFirstByItemIdAndStartBeforeOrderByStartDesc(itemDto.getId(),
-                LocalDateTime.now());
-        if (lastBooking != null) {
-            itemDto.setLastBooking(BookingMapper.fromBookingToBookingDtoShort(lastBooking));
-        }
+        searchIndex.ifAvailable(index -> index.removeAfterCommit(itemId));
     }
 
     private void setComments(ItemDto itemDto) {
         itemDto.setComments(commentRepository.findAllByItemId(itemDto.getId()).stream()
-                .map(CommentMapper::fromCommentToDto)
+                .map(CommentMapper::fromCommentViewToDto)
                 .collect(Collectors.toList()));
 
     }
@@ -166,42 +162,13 @@ public class ItemServiceImpl implements ItemService {
                 .map(ItemDto::getId)
                 .collect(Collectors.toList());
 
-        Map<Long, List<Comment>> commentsMap = commentRepository.findAllByItemIdIn(itemIds)
+        Map<Long, List<CommentView>> commentsMap = commentRepository.findAllByItemIdIn(itemIds)
                 .stream()
-                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+                .collect(Collectors.groupingBy(CommentView::getItemId));
 
         list.forEach(itemDto -> {
-            List<Comment> itemComments = commentsMap.getOrDefault(itemDto.getId(), Collections.emptyList());
-            itemDto.setComments(CommentMapper.fromListOfCommentToDto(itemComments));
-        });
-    }
-
-    private void setBookingsForList(List<ItemDto> list) {
-        List<Long> itemIds = list.stream()
-                .map(ItemDto::getId)
-                .collect(Collectors.toList());
-
-        Map<Long, List<Booking>> bookingsByItemId = bookingRepository.findAllByItemIdIn(itemIds)
-                .stream()
-                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
-
-        list.parallelStream().forEach(dto -> {
-            List<Booking> bookings = bookingsByItemId.get(dto.getId());
-            if (bookings != null && !bookings.isEmpty()) {
-                bookings.sort(Comparator.comparing(Booking::getStart));
-                Booking nextBooking = bookings.stream()
-                        .filter(booking -> booking.getStart().isAfter(LocalDateTime.now()))
-                        .filter(booking -> booking.getStatus().equals(StatusOfBooking.APPROVED))
-                        .min(Comparator.comparing(Booking::getStart))
-                        .orElse(null);
-                Booking lastBooking = bookings.stream()
-                        .filter(booking -> booking.getStart().isBefore(LocalDateTime.now()))
-                        .max(Comparator.comparing(Booking::getStart))
-                        .orElse(null);
-                dto.setNextBooking(nextBooking != null ? BookingMapper.fromBookingToBookingDtoShort(nextBooking) : null);
-                dto.setLastBooking(lastBooking != null ? BookingMapper.fromBookingToBookingDtoShort(lastBooking) : null);
-            }
+            List<CommentView> itemComments = commentsMap.getOrDefault(itemDto.getId(), Collections.emptyList());
+            itemDto.setComments(CommentMapper.fromListOfCommentViewToDto(itemComments));
         });
     }
 }
-
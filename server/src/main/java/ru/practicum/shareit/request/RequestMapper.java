@@ -3,10 +3,12 @@ package ru.practicum.shareit.request;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.dto.ItemDtoRequested;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemView;
 import ru.practicum.shareit.request.dto.RequestDtoIn;
 import ru.practicum.shareit.request.dto.RequestDtoOut;
 import ru.practicum.shareit.request.dto.RequestDtoWithItemsOut;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.RequestView;
 
 import java.util.List;
 
@@ -34,4 +36,13 @@ public class RequestMapper {
         dto.setItems(requestedItems);
         return dto;
     }
+
+    public static RequestDtoWithItemsOut fromRequestViewToDtoWithItemsOut(RequestView request, List<ItemView> items) {
+        RequestDtoWithItemsOut dto = new RequestDtoWithItemsOut();
+        dto.setId(request.getId());
+        dto.setDescription(request.getDescription());
+        dto.setCreated(request.getCreated());
+        dto.setItems(ItemMapper.fromListOfItemViewToDtoRequested(items));
+        return dto;
+    }
 }
@@ -2,12 +2,38 @@ package ru.practicum.shareit.request.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
-    List<ItemRequest> findAllByRequesterIdOrderByCreatedDesc(long userId, Pageable pageable);
+    /**
+     * Запросы только для чтения: без автора запроса и без отслеживания в контексте персистентности
+     */
+    String REQUEST_VIEW = "SELECT new ru.practicum.shareit.request.repository.RequestView(" +
+            "r.id, r.description, r.created) FROM ItemRequest r ";
+
+    @Query(REQUEST_VIEW + "WHERE r.id = ?1")
+    Optional<RequestView> findViewById(long requestId);
+
+    @Query(REQUEST_VIEW + "WHERE r.requester.id = ?1 ORDER BY r.created DESC")
+    List<RequestView> findAllByRequesterIdOrderByCreatedDesc(long userId, Pageable pageable);
+
+    @Query(REQUEST_VIEW + "WHERE r.requester.id <> ?1 ORDER BY r.created DESC")
+    List<RequestView> findAllByRequesterIdNotOrderByCreatedDesc(long userId, Pageable pageable);
 
-    List<ItemRequest> findAllByRequesterIdNotOrderByCreatedDesc(long userId, Pageable pageable);
+    /**
+     * Проверка существования без загрузки запроса. Результат хранится в кэше запросов
+     * и сбрасывается при любом изменении таблицы requests.
+     */
+    @Override
+    @Query("SELECT CASE WHEN COUNT(e) > 0 THEN true ELSE false END FROM ItemRequest e WHERE e.id = ?1")
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    boolean existsById(Long id);
 }
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.request.repository;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Проекция запроса вещи без автора запроса
+ */
+@Getter
+@RequiredArgsConstructor
+public class RequestView {
+    private final long id;
+    private final String description;
+    private final LocalDateTime created;
+}
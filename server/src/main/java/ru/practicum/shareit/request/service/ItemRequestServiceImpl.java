@@ -6,16 +6,16 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
-import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.ItemView;
 import ru.practicum.shareit.request.RequestMapper;
 import ru.practicum.shareit.request.dto.RequestDtoIn;
 import ru.practicum.shareit.request.dto.RequestDtoOut;
 import ru.practicum.shareit.request.dto.RequestDtoWithItemsOut;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
-import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.request.repository.RequestView;
+import ru.practicum.shareit.user.service.UserValidator;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -29,15 +29,13 @@ import java.util.stream.Collectors;
 @Transactional
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository requestRepository;
-    private final UserRepository userRepository;
+    private final UserValidator userValidator;
     private final ItemRepository itemRepository;
 
     @Override
     public RequestDtoOut createRequest(long userId, RequestDtoIn itemRequestDtoIn) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь не найден", HttpStatus.NOT_FOUND));
         ItemRequest request = RequestMapper.fromDtoInToRequest(itemRequestDtoIn);
-        request.setRequester(user);
+        request.setRequester(userValidator.getReference(userId));
         request.setCreated(LocalDateTime.now());
         ItemRequest savedRequest = requestRepository.save(request);
         return RequestMapper.fromRequestToDtoOut(savedRequest);
@@ -46,32 +44,30 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     @Transactional(readOnly = true)
     public RequestDtoWithItemsOut getById(long userId, long requestId) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь не найден", HttpStatus.NOT_FOUND));
-        ItemRequest itemRequest = requestRepository.findById(requestId)
+        userValidator.checkExists(userId);
+        RequestView itemRequest = requestRepository.findViewById(requestId)
                 .orElseThrow(() -> new NotFoundException("Запрос не найден", HttpStatus.NOT_FOUND));
-        List<Item> items = itemRepository.findAllByItemRequestId(requestId);
-        return RequestMapper.fromRequestToDtoWithItemsOut(itemRequest, items);
+        List<ItemView> items = itemRepository.findAllByItemRequestId(requestId);
+        return RequestMapper.fromRequestViewToDtoWithItemsOut(itemRequest, items);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<RequestDtoWithItemsOut> getAllByOwner(long userId, Pageable pageable) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь не найден", HttpStatus.NOT_FOUND));
-        List<ItemRequest> requests = requestRepository.findAllByRequesterIdOrderByCreatedDesc(userId, pageable);
+        userValidator.checkExists(userId);
+        List<RequestView> requests = requestRepository.findAllByRequesterIdOrderByCreatedDesc(userId, pageable);
         List<Long> requestIds = requests.stream()
-                .map(ItemRequest::getId)
+                .map(RequestView::getId)
                 .collect(Collectors.toList());
-        List<Item> items = itemRepository.findAllByItemRequestIdIn(requestIds);
+        List<ItemView> items = itemRepository.findAllByItemRequestIdIn(requestIds);
 
-        Map<Long, List<Item>> itemsByRequestId = items.stream()
+        Map<Long, List<ItemView>> itemsByRequestId = items.stream()
                 .collect(Collectors.groupingBy(
-                        item -> item.getItemRequest().getId(),
+                        ItemView::getRequestId,
                         Collectors.toList()
                 ));
         return requests.stream()
-                .map(request -> RequestMapper.fromRequestToDtoWithItemsOut(
+                .map(request -> RequestMapper.fromRequestViewToDtoWithItemsOut(
                         request, itemsByRequestId.getOrDefault(request.getId(), new ArrayList<>())))
                 .collect(Collectors.toList());
     }
@@ -80,22 +76,21 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     @Transactional(readOnly = true)
     public List<RequestDtoWithItemsOut> getAll(long userId, Pageable pageable) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь не найден", HttpStatus.NOT_FOUND));
-        List<ItemRequest> requests = requestRepository.findAllByRequesterIdNotOrderByCreatedDesc(userId, pageable);
+        userValidator.checkExists(userId);
+        List<RequestView> requests = requestRepository.findAllByRequesterIdNotOrderByCreatedDesc(userId, pageable);
         List<Long> requestIds = requests.stream()
-                .map(ItemRequest::getId)
+                .map(RequestView::getId)
                 .collect(Collectors.toList());
-        List<Item> items = itemRepository.findAllByItemRequestIdIn(requestIds);
+        List<ItemView> items = itemRepository.findAllByItemRequestIdIn(requestIds);
 
-        Map<Long, List<Item>> itemsByRequestId = items.stream()
+        Map<Long, List<ItemView>> itemsByRequestId = items.stream()
                 .collect(Collectors.groupingBy(
-                        item -> item.getItemRequest().getId(),
+                        ItemView::getRequestId,
                         Collectors.toList()
                 ));
 
         return requests.stream()
-                .map(request -> RequestMapper.fromRequestToDtoWithItemsOut(
+                .map(request -> RequestMapper.fromRequestViewToDtoWithItemsOut(
                         request, itemsByRequestId.getOrDefault(request.getId(), new ArrayList<>())))
                 .collect(Collectors.toList());
     }
@@ -1,7 +1,25 @@
 package ru.practicum.shareit.user.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 public interface UserRepository extends JpaRepository<User, Long> {
+    /**
+     * Проверка существования без загрузки пользователя. Результат хранится в кэше запросов
+     * и сбрасывается при любом изменении таблицы users.
+     */
+    @Override
+    @Query("SELECT CASE WHEN COUNT(e) > 0 THEN true ELSE false END FROM User e WHERE e.id = ?1")
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    boolean existsById(Long id);
+
+    @Query("SELECT u.id FROM User u")
+    List<Long> findAllIds();
 }
@@ -0,0 +1,153 @@
+package ru.practicum.shareit.user.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.util.AfterCommit;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Битовая карта id существующих пользователей в памяти приложения: один бит на id,
+ * около 125 КБ на миллион пользователей. Проверка существования пользователя по карте не обращается к БД.
+ * Карта может ошибаться в обе стороны: в ней нет пользователей, созданных на другом экземпляре сервера
+ * или с id больше {@link Integer#MAX_VALUE}, и остаются пользователи, удаленные на другом экземпляре.
+ * Поэтому отсутствие id перепроверяется запросом к БД, а {@link UserValidator#getReference}
+ * для связей новых записей всегда проверяет пользователя в БД.
+ */
+@Component
+@Slf4j
+public class UserIdIndex implements MeterBinder {
+    private final BitSet ids = new BitSet();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /*
+     * id, удаленные до завершения прогрева: снимок из БД мог быть прочитан до фиксации удаления,
+     * поэтому такие id из снимка не восстанавливаются. Удаление убирает id из карты еще до фиксации,
+     * поэтому удаления учитываются с момента создания индекса, а не с начала чтения снимка.
+     */
+    private Set<Long> removedBeforeWarmUp = new HashSet<>();
+    private volatile boolean warmedUp;
+
+    /**
+     * @return true, если индекс прогрет и ему можно доверять
+     */
+    public boolean isWarmedUp() {
+        return warmedUp;
+    }
+
+    /**
+     * Заполнение индекса снимком id пользователей из БД без очистки карты:
+     * пользователи, добавленные во время прогрева, уже в карте, а удаленные до его завершения
+     * из снимка не добавляются
+     */
+    public void warmUp(Supplier<? extends Collection<Long>> snapshot) {
+        lock.writeLock().lock();
+        try {
+            if (removedBeforeWarmUp == null) {
+                removedBeforeWarmUp = new HashSet<>();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Collection<Long> userIds = snapshot.get();
+        lock.writeLock().lock();
+        try {
+            for (Long userId : userIds) {
+                if (!removedBeforeWarmUp.contains(userId)) {
+                    set(userId);
+                }
+            }
+            removedBeforeWarmUp = null;
+            warmedUp = true;
+            log.info("Индекс пользователей загружен: пользователей {}", ids.cardinality());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return true, если пользователь точно существует; false - если это нужно проверить в БД
+     */
+    public boolean contains(long userId) {
+        if (!warmedUp || !fits(userId)) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            return ids.get((int) userId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Добавление пользователя в индекс после фиксации текущей транзакции
+     */
+    public void addAfterCommit(long userId) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                set(userId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Удаление пользователя из индекса сразу, не дожидаясь фиксации транзакции:
+     * при откате пользователь лишь будет проверяться запросом к БД
+     */
+    public void remove(long userId) {
+        lock.writeLock().lock();
+        try {
+            if (removedBeforeWarmUp != null) {
+                removedBeforeWarmUp.add(userId);
+            }
+            if (fits(userId)) {
+                ids.clear((int) userId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("shareit.users.index.users", this, index -> index.read(index.ids::cardinality))
+                .description("Количество пользователей в индексе")
+                .register(registry);
+        Gauge.builder("shareit.users.index.memory", this, index -> index.read(() -> index.ids.size() / Byte.SIZE))
+                .description("Память, занимаемая битовой картой пользователей")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private void set(long userId) {
+        if (fits(userId)) {
+            ids.set((int) userId);
+        }
+    }
+
+    private static boolean fits(long userId) {
+        return userId >= 0 && userId <= Integer.MAX_VALUE;
+    }
+
+    private double read(LongSupplier supplier) {
+        lock.readLock().lock();
+        try {
+            return supplier.getAsLong();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
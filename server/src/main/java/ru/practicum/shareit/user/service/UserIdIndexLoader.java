@@ -0,0 +1,32 @@
+package ru.practicum.shareit.user.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+/**
+ * Прогрев индекса пользователей при старте приложения.
+ * Если прогрев не удался, существование пользователей продолжает проверяться запросом к БД.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserIdIndexLoader {
+    private final UserRepository userRepository;
+    private final UserIdIndex userIdIndex;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        try {
+            userIdIndex.warmUp(userRepository::findAllIds);
+        } catch (DataAccessException e) {
+            log.error("Не удалось загрузить индекс пользователей", e);
+        }
+    }
+}
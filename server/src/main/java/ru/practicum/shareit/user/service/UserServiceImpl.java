@@ -20,12 +20,14 @@ import java.util.stream.Collectors;
 @Transactional
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final UserIdIndex userIdIndex;
 
     @Override
     public UserDto createUser(UserDto userDto) {
         User user = UserMapper.fromDtoToUser(userDto);
         try {
-            User createdUser = userRepository.save(user);
+            User createdUser = userRepository.saveAndFlush(user);
+            userIdIndex.addAfterCommit(createdUser.getId());
             return UserMapper.fromUserToDto(createdUser);
         } catch (DataIntegrityViolationException e) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Ошибка при создании пользователя", e);
@@ -43,7 +45,7 @@ public class UserServiceImpl implements UserService {
             if (userDto.getEmail() != null) {
                 userInRepo.setEmail(userDto.getEmail());
             }
-            User updatedUser = userRepository.save(userInRepo);
+            User updatedUser = userRepository.saveAndFlush(userInRepo);
             return UserMapper.fromUserToDto(updatedUser);
         } catch (DataIntegrityViolationException e) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Ошибка при обновлении пользователя", e);
@@ -69,6 +71,7 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public void deleteUserById(long userId) {
+        userIdIndex.remove(userId);
         userRepository.deleteById(userId);
     }
 }
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.user.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+/**
+ * Проверка существования пользователя без загрузки сущности в контекст персистентности.
+ * Для чтения достаточно индекса пользователей в памяти, а при его промахе - кэшируемого запроса existsById.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserValidator {
+    private final UserRepository userRepository;
+    private final UserIdIndex userIdIndex;
+
+    /**
+     * @throws NotFoundException если пользователь не существует
+     */
+    public void checkExists(long userId) {
+        if (!userIdIndex.contains(userId) && !userRepository.existsById(userId)) {
+            throw new NotFoundException("Пользователь не найден", HttpStatus.NOT_FOUND);
+        }
+    }
+
+    /**
+     * Ссылка на существующего пользователя для связей создаваемых сущностей.
+     * Прокси не загружается из БД, пока не запрошены поля кроме id.
+     * Индекс может помнить пользователя, удаленного на другом экземпляре сервера, а ссылка
+     * на удаленного пользователя привела бы к нарушению внешнего ключа при вставке,
+     * поэтому существование всегда проверяется в БД.
+     *
+     * @throws NotFoundException если пользователь не существует
+     */
+    public User getReference(long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("Пользователь не найден", HttpStatus.NOT_FOUND);
+        }
+        return userRepository.getReferenceById(userId);
+    }
+}
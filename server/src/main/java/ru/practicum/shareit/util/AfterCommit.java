@@ -0,0 +1,30 @@
+package ru.practicum.shareit.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Отложенное выполнение действий до фиксации текущей транзакции.
+ * Используется индексами в памяти, чтобы откат транзакции не оставлял в них несуществующих данных.
+ */
+public final class AfterCommit {
+    private AfterCommit() {
+    }
+
+    /**
+     * Выполнение действия после фиксации текущей транзакции или сразу, если транзакции нет.
+     * При откате транзакции действие не выполняется.
+     */
+    public static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,13 @@
+-- Выборки бронирований пользователя: booker_id = ? [AND status = ? | AND start_date/end_date ...] ORDER BY start_date DESC
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_status_start ON bookings (booker_id, status, start_date DESC);
+
+-- Выборки бронирований владельца идут через его вещи, затем по item_id с сортировкой по start_date
+CREATE INDEX IF NOT EXISTS idx_items_owner_item ON items (owner_id, item_id);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_date DESC);
+
+-- Проверка пересечений и ближайшее подтвержденное бронирование вещи
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_period ON bookings (item_id, status, start_date, end_date);
+
+-- Проверка права оставить отзыв: item_id = ? AND booker_id = ? AND end_date < ?
+CREATE INDEX IF NOT EXISTS idx_bookings_item_booker_end ON bookings (item_id, booker_id, end_date);
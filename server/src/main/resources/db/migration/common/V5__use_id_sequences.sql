@@ -0,0 +1,24 @@
+-- Идентификаторы выдаются последовательностями с шагом 50: Hibernate резервирует блок из 50 значений
+-- одним обращением (оптимизатор pooled-lo) и объединяет вставки в пакеты, чего не позволяет IDENTITY.
+-- Значение по умолчанию остается для вставок напрямую через JDBC: такая вставка забирает начало
+-- следующего блока, который Hibernate уже не получит.
+-- Последовательности начинаются с 1; продолжение существующих идентификаторов на PostgreSQL - в V5_1.
+ALTER TABLE users ALTER COLUMN user_id DROP IDENTITY;
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE users ALTER COLUMN user_id SET DEFAULT nextval('users_seq');
+
+ALTER TABLE requests ALTER COLUMN request_id DROP IDENTITY;
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE requests ALTER COLUMN request_id SET DEFAULT nextval('requests_seq');
+
+ALTER TABLE items ALTER COLUMN item_id DROP IDENTITY;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE items ALTER COLUMN item_id SET DEFAULT nextval('items_seq');
+
+ALTER TABLE bookings ALTER COLUMN booking_id DROP IDENTITY;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE bookings ALTER COLUMN booking_id SET DEFAULT nextval('bookings_seq');
+
+ALTER TABLE comments ALTER COLUMN comment_id DROP IDENTITY;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE comments ALTER COLUMN comment_id SET DEFAULT nextval('comments_seq');
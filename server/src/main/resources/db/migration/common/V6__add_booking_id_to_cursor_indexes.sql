@@ -0,0 +1,10 @@
+-- Постраничная выдача по курсору сортирует по (start_date DESC, booking_id DESC) и продолжает
+-- со строки (start_date, booking_id) < (?, ?): с booking_id в индексе и порядок, и условие курсора
+-- обслуживаются одним проходом по индексу без досортировки бронирований с одинаковым началом.
+DROP INDEX IF EXISTS idx_bookings_booker_start;
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date DESC, booking_id DESC);
+DROP INDEX IF EXISTS idx_bookings_booker_status_start;
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_status_start
+    ON bookings (booker_id, status, start_date DESC, booking_id DESC);
+DROP INDEX IF EXISTS idx_bookings_item_start;
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_date DESC, booking_id DESC);
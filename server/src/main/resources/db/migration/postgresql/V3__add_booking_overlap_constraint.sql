@@ -0,0 +1,38 @@
+-- Подтвержденные бронирования одной вещи не пересекаются: гонку двух одновременных подтверждений,
+-- прошедших проверку в приложении, закрывает ограничение исключения.
+-- Ограничение не создается, если в таблице уже есть пересечения, поэтому сначала они разрешаются:
+-- из пересекающихся подтвержденных бронирований остается раньше созданное, остальные отклоняются
+-- с предупреждением в журнале миграции.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+DO
+$$
+    DECLARE
+        booking RECORD;
+    BEGIN
+        IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'ex_bookings_approved_overlap') THEN
+            FOR booking IN SELECT booking_id, item_id, start_date, end_date
+                           FROM bookings
+                           WHERE status = 'APPROVED'
+                           ORDER BY booking_id
+                LOOP
+                    IF EXISTS (SELECT 1
+                               FROM bookings earlier
+                               WHERE earlier.item_id = booking.item_id
+                                 AND earlier.status = 'APPROVED'
+                                 AND earlier.booking_id < booking.booking_id
+                                 AND tsrange(earlier.start_date, earlier.end_date, '[]')
+                                     && tsrange(booking.start_date, booking.end_date, '[]')) THEN
+                        UPDATE bookings SET status = 'REJECTED' WHERE booking_id = booking.booking_id;
+                        RAISE WARNING 'Бронирование % вещи % пересекается с подтвержденным ранее и отклонено',
+                            booking.booking_id, booking.item_id;
+                    END IF;
+                END LOOP;
+
+            ALTER TABLE bookings
+                ADD CONSTRAINT ex_bookings_approved_overlap
+                    EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date, '[]') WITH &&)
+                    WHERE (status = 'APPROVED');
+        END IF;
+    END
+$$;
@@ -0,0 +1,7 @@
+-- Последовательности продолжают идентификаторы, выданные до перехода с IDENTITY.
+-- С оптимизатором pooled-lo следующее значение последовательности - начало свободного блока.
+SELECT setval('users_seq', COALESCE(MAX(user_id), 0) + 1, false) FROM users;
+SELECT setval('requests_seq', COALESCE(MAX(request_id), 0) + 1, false) FROM requests;
+SELECT setval('items_seq', COALESCE(MAX(item_id), 0) + 1, false) FROM items;
+SELECT setval('bookings_seq', COALESCE(MAX(booking_id), 0) + 1, false) FROM bookings;
+SELECT setval('comments_seq', COALESCE(MAX(comment_id), 0) + 1, false) FROM comments;
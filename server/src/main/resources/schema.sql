@@ -1,165 +0,0 @@
-CREATE TABLE IF NOT EXISTS users
-(
-    user_id
-    BIGINT
-    GENERATED
-    ALWAYS AS
-    IDENTITY
-    PRIMARY
-    KEY,
-    user_name
-    VARCHAR
-(
-    100
-) NOT NULL,
-    email VARCHAR
-(
-    100
-) NOT NULL UNIQUE
-    );
-
-CREATE TABLE IF NOT EXISTS items
-(
-    item_id
-    BIGINT
-    GENERATED
-    ALWAYS AS
-    IDENTITY
-    PRIMARY
-    KEY,
-    item_name
-    VARCHAR
-(
-    100
-) NOT NULL,
-    description VARCHAR
-(
-    1000
-) NOT NULL,
-    owner_id BIGINT NOT NULL,
-    available boolean NOT NULL,
-    request_id INT,
-    CONSTRAINT fk_items_to_users FOREIGN KEY
-(
-    owner_id
-) REFERENCES users
-(
-    user_id
-)
-    );
-
-CREATE TABLE IF NOT EXISTS bookings
-(
-    booking_id
-    BIGINT
-    GENERATED
-    ALWAYS AS
-    IDENTITY
-    PRIMARY
-    KEY,
-    start_date
-    TIMESTAMP
-    WITHOUT
-    TIME
-    ZONE
-    NOT
-    NULL,
-    end_date
-    TIMESTAMP
-    WITHOUT
-    TIME
-    ZONE
-    NOT
-    NULL,
-    item_id
-    BIGINT
-    NOT
-    NULL,
-    booker_id
-    BIGINT
-    NOT
-    NULL,
-    status
-    VARCHAR
-(
-    100
-) NOT NULL,
-    CONSTRAINT fk_bookings_to_items FOREIGN KEY
-(
-    item_id
-) REFERENCES items
-(
-    item_id
-),
-    CONSTRAINT fk_bookings_to_users FOREIGN KEY
-(
-    booker_id
-) REFERENCES users
-(
-    user_id
-)
-    );
-
-CREATE TABLE IF NOT EXISTS comments
-(
-    comment_id
-    BIGINT
-    GENERATED
-    ALWAYS AS
-    IDENTITY
-    PRIMARY
-    KEY,
-    comment_text
-    VARCHAR
-(
-    1000
-) NOT NULL,
-    item_id BIGINT NOT NULL,
-    author_id BIGINT NOT NULL,
-    created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
-    CONSTRAINT fk_comments_to_items FOREIGN KEY
-(
-    item_id
-) REFERENCES items
-(
-    item_id
-),
-    CONSTRAINT fk_comments_to_users FOREIGN KEY
-(
-    author_id
-) REFERENCES users
-(
-    user_id
-)
-    );
-
-CREATE TABLE IF NOT EXISTS requests
-(
-    request_id
-    BIGINT
-    GENERATED
-    ALWAYS AS
-    IDENTITY
-    PRIMARY
-    KEY,
-    request_description
-    VARCHAR
-(
-    1000
-) NOT NULL,
-    requester_id BIGINT REFERENCES users
-(
-    user_id
-) NOT NULL,
-    create_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
-    CONSTRAINT fk_requests_to_users FOREIGN KEY
-(
-    requester_id
-) REFERENCES users
-(
-    user_id
-)
-    );
-
-
-
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.StatusOfBooking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Идентификаторы выдаются последовательностями блоками по 50, поэтому вставки группируются в пакеты:
+ * 120 бронирований вставляются одним подготовленным INSERT и не более чем тремя обращениями
+ * к последовательности (часть блока могла остаться от предыдущего теста)
+ */
+@DataJpaTest
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class BookingBatchInsertTest {
+    static final int BOOKINGS = 120;
+    static final int SEQUENCE_CALLS = 3;
+
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    EntityManager entityManager;
+
+    Statistics statistics;
+    Item item;
+    User booker;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        User owner = userRepository.save(user("owner"));
+        booker = userRepository.save(user("booker"));
+        item = new Item();
+        item.setName("Дрель");
+        item.setDescription("Аккумуляторная");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        itemRepository.save(item);
+        entityManager.flush();
+        statistics.clear();
+    }
+
+    @Test
+    void bookingsAreInsertedInBatchesTest() {
+        bookingRepository.saveAll(bookings(BOOKINGS));
+        entityManager.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(BOOKINGS);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(1 + SEQUENCE_CALLS);
+    }
+
+    @Test
+    void jdbcInsertDoesNotTakeIdsFromHibernateBlockTest() {
+        List<Booking> saved = new ArrayList<>(bookingRepository.saveAll(bookings(2)));
+        entityManager.flush();
+        jdbcTemplate.update("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) " +
+                        "VALUES (?, ?, ?, ?, ?)", LocalDateTime.now(), LocalDateTime.now().plusDays(1), item.getId(),
+                booker.getId(), StatusOfBooking.WAITING.name());
+        saved.addAll(bookingRepository.saveAll(bookings(2)));
+        entityManager.flush();
+
+        List<Long> savedIds = saved.stream()
+                .map(Booking::getId)
+                .collect(Collectors.toList());
+        List<Long> ids = jdbcTemplate.queryForList("SELECT booking_id FROM bookings WHERE item_id = ?",
+                Long.class, item.getId());
+        assertThat(ids).hasSize(5).containsAll(savedIds);
+    }
+
+    private List<Booking> bookings(int count) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Booking booking = new Booking();
+            booking.setStart(start.plusDays(i));
+            booking.setEnd(start.plusDays(i).plusHours(12));
+            booking.setItem(item);
+            booking.setBooker(booker);
+            booking.setStatus(StatusOfBooking.WAITING);
+            bookings.add(booking);
+        }
+        return bookings;
+    }
+
+    private static User user(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@batch.ru");
+        return user;
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
 import ru.practicum.shareit.booking.service.BookingService;
@@ -23,6 +24,7 @@ import java.util.List;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -170,4 +172,59 @@ class BookingControllerTest {
 
         verifyNoMoreInteractions(bookingService);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllBookingByUserWithCursor() throws Exception {
+        BookingDtoOut bookingDtoOut1 = DataTest.testBookingDtoOut1();
+        BookingDtoOut bookingDtoOut2 = DataTest.testBookingDtoOut2();
+
+        when(bookingService.getAllBookingByUser(eq(DataTest.userId), any(), eq(BookingCursor.FIRST_PAGE), eq(2)))
+                .thenReturn(List.of(bookingDtoOut1, bookingDtoOut2));
+
+        mockMvc.perform(get(bookingsPath)
+                        .header(HeaderConstants.X_SHARER_USER_ID, DataTest.userId)
+                        .param("size", "2")
+                        .param("cursor", ""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HeaderConstants.X_NEXT_CURSOR, BookingCursor.of(bookingDtoOut2).encode()))
+                .andExpect(jsonPath("$[0].id").value(bookingDtoOut1.getId()))
+                .andExpect(jsonPath("$[1].id").value(bookingDtoOut2.getId()));
+
+        verify(bookingService, times(1))
+                .getAllBookingByUser(eq(DataTest.userId), any(), eq(BookingCursor.FIRST_PAGE), eq(2));
+
+        verifyNoMoreInteractions(bookingService);
+    }
+
+    @Test
+    void getAllBookingsByItemOwnerWithCursorLastPage() throws Exception {
+        BookingDtoOut bookingDtoOut1 = DataTest.testBookingDtoOut1();
+        BookingCursor cursor = BookingCursor.of(DataTest.testBookingDtoOut2());
+
+        when(bookingService.getAllBookingsByItemOwner(eq(DataTest.userId), any(), eq(cursor), eq(2)))
+                .thenReturn(List.of(bookingDtoOut1));
+
+        mockMvc.perform(get(bookingsPath + "/owner")
+                        .header(HeaderConstants.X_SHARER_USER_ID, DataTest.userId)
+                        .param("size", "2")
+                        .param("cursor", cursor.encode()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HeaderConstants.X_NEXT_CURSOR))
+                .andExpect(jsonPath("$[0].id").value(bookingDtoOut1.getId()));
+
+        verify(bookingService, times(1))
+                .getAllBookingsByItemOwner(eq(DataTest.userId), any(), eq(cursor), eq(2));
+
+        verifyNoMoreInteractions(bookingService);
+    }
+
+    @Test
+    void getAllBookingByUserWithIncorrectCursor() throws Exception {
+        mockMvc.perform(get(bookingsPath)
+                        .header(HeaderConstants.X_SHARER_USER_ID, DataTest.userId)
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bookingService);
+    }
+}
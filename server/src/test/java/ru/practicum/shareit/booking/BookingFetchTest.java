@@ -0,0 +1,197 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingDtoOut;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.StatusOfBooking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingView;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Каждая страница бронирований вместе с вещами и бронирующими читается одним запросом,
+ * сколько бы бронирований, вещей и пользователей на ней ни было, и не загружает ни одной сущности.
+ * Перед каждым запросом очищаются контекст персистентности и кэш второго уровня,
+ * чтобы считались все обращения к БД.
+ */
+@DataJpaTest
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class BookingFetchTest {
+    static final int ITEMS = 30;
+    static final StatusOfBooking[] STATUSES = {
+            StatusOfBooking.WAITING, StatusOfBooking.REJECTED, StatusOfBooking.APPROVED};
+
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    ItemRequestRepository requestRepository;
+    @Autowired
+    EntityManager entityManager;
+
+    Statistics statistics;
+    long ownerId;
+    long bookerId;
+
+    /**
+     * Каждая вещь создана по отдельному запросу и забронирована дважды: общим бронирующим
+     * и отдельным пользователем. Среди бронирований есть прошедшие, текущие и будущие со всеми статусами.
+     */
+    @BeforeEach
+    void seed() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        LocalDateTime now = LocalDateTime.now();
+        User owner = userRepository.save(user(0));
+        User booker = userRepository.save(user(1));
+        ownerId = owner.getId();
+        bookerId = booker.getId();
+        for (int i = 1; i <= ITEMS; i++) {
+            User requester = userRepository.save(user(i + 1));
+            ItemRequest request = new ItemRequest();
+            request.setDescription("Запрос " + i);
+            request.setRequester(requester);
+            request.setCreated(now);
+            requestRepository.save(request);
+
+            Item item = new Item();
+            item.setName("Вещь " + i);
+            item.setDescription("Описание " + i);
+            item.setAvailable(true);
+            item.setOwner(owner);
+            item.setItemRequest(request);
+            itemRepository.save(item);
+
+            bookingRepository.save(booking(item, booker, i, now));
+            bookingRepository.save(booking(item, userRepository.save(user(ITEMS + i + 1)), ITEMS + i, now));
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void ownerBookingPagesTakeOneStatementTest() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Function<Pageable, List<BookingView>>> queries = new LinkedHashMap<>();
+        queries.put("ALL", page -> bookingRepository.findAllByItemOwnerIdOrderByStartDesc(ownerId, page));
+        queries.put("CURRENT", page -> bookingRepository
+                .findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(ownerId, now, now, page));
+        queries.put("PAST", page -> bookingRepository
+                .findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(ownerId, now, page));
+        queries.put("FUTURE", page -> bookingRepository
+                .findAllByItemOwnerIdAndStartAfterOrderByStartDesc(ownerId, now, page));
+        queries.put("APPROVED", page -> bookingRepository
+                .findAllByItemOwnerIdAndStatusOrderByStartDesc(ownerId, StatusOfBooking.APPROVED, page));
+        LocalDateTime cursorStart = now.plusYears(1);
+        queries.put("ALL после курсора", page -> bookingRepository
+                .findAllByItemOwnerIdAfterCursor(ownerId, cursorStart, Long.MAX_VALUE, page));
+        queries.put("CURRENT после курсора", page -> bookingRepository
+                .findCurrentByItemOwnerIdAfterCursor(ownerId, cursorStart, Long.MAX_VALUE, now, page));
+        queries.put("PAST после курсора", page -> bookingRepository
+                .findPastByItemOwnerIdAfterCursor(ownerId, cursorStart, Long.MAX_VALUE, now, page));
+        queries.put("FUTURE после курсора", page -> bookingRepository
+                .findFutureByItemOwnerIdAfterCursor(ownerId, cursorStart, Long.MAX_VALUE, now, page));
+        queries.put("REJECTED после курсора", page -> bookingRepository.findAllByItemOwnerIdAndStatusAfterCursor(
+                ownerId, cursorStart, Long.MAX_VALUE, StatusOfBooking.REJECTED, page));
+
+        queries.forEach(this::assertOneStatementPerPage);
+    }
+
+    @Test
+    void bookerBookingPagesTakeOneStatementTest() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Function<Pageable, List<BookingView>>> queries = new LinkedHashMap<>();
+        queries.put("ALL", page -> bookingRepository.findAllByBookerIdOrderByStartDesc(bookerId, page));
+        queries.put("CURRENT", page -> bookingRepository
+                .findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(bookerId, now, now, page));
+        queries.put("PAST", page -> bookingRepository
+                .findAllByBookerIdAndEndBeforeOrderByStartDesc(bookerId, now, page));
+        queries.put("FUTURE", page -> bookingRepository
+                .findAllByBookerIdAndStartAfterOrderByStartDesc(bookerId, now, page));
+        queries.put("WAITING", page -> bookingRepository
+                .findAllByBookerIdAndStatusOrderByStartDesc(bookerId, StatusOfBooking.WAITING, page));
+        LocalDateTime cursorStart = now.plusYears(1);
+        queries.put("ALL после курсора", page -> bookingRepository
+                .findAllByBookerIdAfterCursor(bookerId, cursorStart, Long.MAX_VALUE, page));
+        queries.put("CURRENT после курсора", page -> bookingRepository
+                .findCurrentByBookerIdAfterCursor(bookerId, cursorStart, Long.MAX_VALUE, now, page));
+        queries.put("PAST после курсора", page -> bookingRepository
+                .findPastByBookerIdAfterCursor(bookerId, cursorStart, Long.MAX_VALUE, now, page));
+        queries.put("FUTURE после курсора", page -> bookingRepository
+                .findFutureByBookerIdAfterCursor(bookerId, cursorStart, Long.MAX_VALUE, now, page));
+        queries.put("REJECTED после курсора", page -> bookingRepository.findAllByBookerIdAndStatusAfterCursor(
+                bookerId, cursorStart, Long.MAX_VALUE, StatusOfBooking.REJECTED, page));
+
+        queries.forEach(this::assertOneStatementPerPage);
+    }
+
+    private void assertOneStatementPerPage(String name, Function<Pageable, List<BookingView>> query) {
+        for (int size : new int[]{2, 10}) {
+            entityManager.clear();
+            entityManager.getEntityManagerFactory().getCache().evictAll();
+            statistics.clear();
+
+            List<BookingDtoOut> page = BookingMapper
+                    .fromListOfBookingViewToDtoOut(query.apply(PageRequest.of(0, size)));
+
+            assertThat(page).as(name).hasSize(size);
+            assertThat(statistics.getPrepareStatementCount()).as(name + ", страница " + size).isEqualTo(1);
+            assertThat(statistics.getEntityLoadCount()).as(name + ", страница " + size).isZero();
+        }
+    }
+
+    /**
+     * Прошедшее, текущее или будущее бронирование в зависимости от номера
+     */
+    private static Booking booking(Item item, User booker, int number, LocalDateTime now) {
+        Booking booking = new Booking();
+        switch (number % 3) {
+            case 0:
+                booking.setStart(now.minusDays(10).minusMinutes(number));
+                booking.setEnd(now.minusDays(5));
+                break;
+            case 1:
+                booking.setStart(now.minusDays(1).minusMinutes(number));
+                booking.setEnd(now.plusDays(1));
+                break;
+            default:
+                booking.setStart(now.plusDays(5).minusMinutes(number));
+                booking.setEnd(now.plusDays(10));
+        }
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStatus(STATUSES[number / 3 % STATUSES.length]);
+        return booking;
+    }
+
+    private static User user(int number) {
+        User user = new User();
+        user.setName("user" + number);
+        user.setEmail("fetch" + number + "@ya.ru");
+        return user;
+    }
+}
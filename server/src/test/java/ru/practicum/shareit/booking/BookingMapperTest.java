@@ -7,6 +7,7 @@ import org.springframework.boot.test.json.JacksonTester;
 import org.springframework.boot.test.json.JsonContent;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
 import ru.practicum.shareit.booking.model.StatusOfBooking;
+import ru.practicum.shareit.booking.repository.BookingView;
 import ru.practicum.shareit.item.dto.ItemDtoShort;
 import ru.practicum.shareit.user.dto.UserDtoShort;
 import ru.practicum.shareit.util.DataTest;
@@ -47,4 +48,21 @@ class BookingMapperTest {
         assertThat(content).extractingJsonPathStringValue("$.end")
                 .isEqualTo(DataTest.time.plusHours(5).format(TestConstants.DATE_TIME_FORMATTER));
     }
-}
\ No newline at end of file
+
+    @Test
+    void bookingViewToDtoOutTest() throws IOException {
+        BookingView view = new BookingView(3L, DataTest.time.plusHours(1), DataTest.time.plusHours(5),
+                47L, "Кираса", 8L, StatusOfBooking.APPROVED);
+
+        JsonContent<BookingDtoOut> content = bookingDtoOutJacksonTester
+                .write(BookingMapper.fromBookingViewToDtoOut(view));
+        assertThat(content).extractingJsonPathNumberValue("$.id").isEqualTo(3);
+        assertThat(content).extractingJsonPathNumberValue("$.item.id").isEqualTo(47);
+        assertThat(content).extractingJsonPathStringValue("$.item.name").isEqualTo("Кираса");
+        assertThat(content).extractingJsonPathNumberValue("$.booker.id").isEqualTo(8);
+        assertThat(content).extractingJsonPathStringValue("$.status")
+                .isEqualTo(StatusOfBooking.APPROVED.toString());
+        assertThat(content).extractingJsonPathStringValue("$.start")
+                .isEqualTo(DataTest.time.plusHours(1).format(TestConstants.DATE_TIME_FORMATTER));
+    }
+}
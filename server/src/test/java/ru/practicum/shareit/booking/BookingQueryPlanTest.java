@@ -0,0 +1,221 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.StatusOfBooking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.util.StatementRecorder;
+import ru.practicum.shareit.util.StatementRecorder.RecordedStatement;
+
+import javax.persistence.EntityManager;
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверка планов запросов к бронированиям на заполненной БД: ни один запрос не должен читать
+ * таблицы полным сканированием. Проверяется SQL, который Hibernate на самом деле отправил в БД
+ * при вызове метода репозитория, с теми же параметрами: источник данных записывает каждый
+ * подготовленный запрос, и для него выполняется EXPLAIN.
+ * Поиск вещей в H2 идет JPQL-запросом с LIKE '%...%', для которого индекса нет (триграммные
+ * GIN-индексы есть только в PostgreSQL), поэтому для него допускается сканирование только таблицы items.
+ */
+@DataJpaTest
+@Import(BookingQueryPlanTest.RecorderConfig.class)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class BookingQueryPlanTest {
+    static final int USERS = 50;
+    static final int ITEMS_PER_USER = 4;
+    static final int BOOKINGS_PER_ITEM = 10;
+    static final Pageable PAGE = PageRequest.of(0, 10);
+
+    @Autowired
+    DataSource dataSource;
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    StatementRecorder recorder;
+    long userId;
+    long itemId;
+    LocalDateTime now;
+
+    @BeforeEach
+    void seed() {
+        now = LocalDateTime.now().withNano(0);
+        recorder = (StatementRecorder) dataSource;
+
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(new Object[]{"user" + i, "plan" + i + "@ya.ru"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (user_name, email) VALUES (?, ?)", users);
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT user_id FROM users ORDER BY user_id", Long.class);
+
+        List<Object[]> items = new ArrayList<>();
+        for (Long ownerId : userIds) {
+            for (int i = 0; i < ITEMS_PER_USER; i++) {
+                items.add(new Object[]{"item" + i, "description" + i, ownerId, true});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO items (item_name, description, owner_id, available) " +
+                "VALUES (?, ?, ?, ?)", items);
+        List<Long> itemIds = jdbcTemplate.queryForList("SELECT item_id FROM items ORDER BY item_id", Long.class);
+
+        List<Object[]> bookings = new ArrayList<>();
+        for (int i = 0; i < itemIds.size(); i++) {
+            for (int j = 0; j < BOOKINGS_PER_ITEM; j++) {
+                LocalDateTime start = now.plusDays(j - BOOKINGS_PER_ITEM / 2L);
+                bookings.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(12)),
+                        itemIds.get(i), userIds.get((i + j + 1) % userIds.size()), j % 3 == 0 ? "WAITING" : "APPROVED"});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) " +
+                "VALUES (?, ?, ?, ?, ?)", bookings);
+        jdbcTemplate.execute("ANALYZE");
+
+        userId = userIds.get(USERS / 2);
+        itemId = itemIds.get(itemIds.size() / 2);
+    }
+
+    /**
+     * ANALYZE в H2 фиксирует текущую транзакцию, поэтому тестовые данные не откатываются сами
+     */
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM bookings WHERE booker_id IN (SELECT user_id FROM users WHERE email LIKE 'plan%')");
+        jdbcTemplate.update("DELETE FROM items WHERE owner_id IN (SELECT user_id FROM users WHERE email LIKE 'plan%')");
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE 'plan%'");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void repositoryQueriesUseIndexes() {
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("findAllByBookerIdOrderByStartDesc",
+                () -> bookingRepository.findAllByBookerIdOrderByStartDesc(userId, PAGE));
+        queries.put("findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc",
+                () -> bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
+                        userId, now, now, PAGE));
+        queries.put("findAllByBookerIdAndEndBeforeOrderByStartDesc",
+                () -> bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(userId, now, PAGE));
+        queries.put("findAllByBookerIdAndStartAfterOrderByStartDesc",
+                () -> bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDesc(userId, now, PAGE));
+        queries.put("findAllByBookerIdAndStatusOrderByStartDesc",
+                () -> bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(
+                        userId, StatusOfBooking.WAITING, PAGE));
+        queries.put("findAllByItemOwnerIdOrderByStartDesc",
+                () -> bookingRepository.findAllByItemOwnerIdOrderByStartDesc(userId, PAGE));
+        queries.put("findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc",
+                () -> bookingRepository.findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(
+                        userId, now, now, PAGE));
+        queries.put("findAllByItemOwnerIdAndEndBeforeOrderByStartDesc",
+                () -> bookingRepository.findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(userId, now, PAGE));
+        queries.put("findAllByItemOwnerIdAndStartAfterOrderByStartDesc",
+                () -> bookingRepository.findAllByItemOwnerIdAndStartAfterOrderByStartDesc(userId, now, PAGE));
+        queries.put("findAllByItemOwnerIdAndStatusOrderByStartDesc",
+                () -> bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(
+                        userId, StatusOfBooking.WAITING, PAGE));
+        queries.put("findAllByBookerIdAfterCursor",
+                () -> bookingRepository.findAllByBookerIdAfterCursor(userId, now, Long.MAX_VALUE, PAGE));
+        queries.put("findCurrentByBookerIdAfterCursor",
+                () -> bookingRepository.findCurrentByBookerIdAfterCursor(userId, now, Long.MAX_VALUE, now, PAGE));
+        queries.put("findPastByBookerIdAfterCursor",
+                () -> bookingRepository.findPastByBookerIdAfterCursor(userId, now, Long.MAX_VALUE, now, PAGE));
+        queries.put("findFutureByBookerIdAfterCursor",
+                () -> bookingRepository.findFutureByBookerIdAfterCursor(userId, now, Long.MAX_VALUE, now, PAGE));
+        queries.put("findAllByBookerIdAndStatusAfterCursor",
+                () -> bookingRepository.findAllByBookerIdAndStatusAfterCursor(
+                        userId, now, Long.MAX_VALUE, StatusOfBooking.WAITING, PAGE));
+        queries.put("findAllByItemOwnerIdAfterCursor",
+                () -> bookingRepository.findAllByItemOwnerIdAfterCursor(userId, now, Long.MAX_VALUE, PAGE));
+        queries.put("findCurrentByItemOwnerIdAfterCursor",
+                () -> bookingRepository.findCurrentByItemOwnerIdAfterCursor(
+                        userId, now, Long.MAX_VALUE, now, PAGE));
+        queries.put("findPastByItemOwnerIdAfterCursor",
+                () -> bookingRepository.findPastByItemOwnerIdAfterCursor(userId, now, Long.MAX_VALUE, now, PAGE));
+        queries.put("findFutureByItemOwnerIdAfterCursor",
+                () -> bookingRepository.findFutureByItemOwnerIdAfterCursor(
+                        userId, now, Long.MAX_VALUE, now, PAGE));
+        queries.put("findAllByItemOwnerIdAndStatusAfterCursor",
+                () -> bookingRepository.findAllByItemOwnerIdAndStatusAfterCursor(
+                        userId, now, Long.MAX_VALUE, StatusOfBooking.WAITING, PAGE));
+        queries.put("existsByItemIdAndBookerIdAndEndBeforeAndStatus",
+                () -> bookingRepository.existsByItemIdAndBookerIdAndEndBeforeAndStatus(
+                        itemId, userId, now, StatusOfBooking.APPROVED));
+        queries.put("existsByItemIdAndStatusAndStartLessThanEqualAndEndGreaterThanEqual",
+                () -> bookingRepository.existsByItemIdAndStatusAndStartLessThanEqualAndEndGreaterThanEqual(
+                        itemId, StatusOfBooking.APPROVED, now, now));
+        queries.put("findWithBookingsById", () -> itemRepository.findWithBookingsById(itemId, now));
+        queries.put("findAllWithBookingsByOwnerId",
+                () -> itemRepository.findAllWithBookingsByOwnerId(userId, now, PAGE));
+
+        queries.forEach((method, query) -> explain(method, query).forEach(plan -> assertThat(plan)
+                .as("%s читает таблицу полным сканированием:%n%s", method, plan)
+                .doesNotContainIgnoringCase("tableScan")));
+    }
+
+    @Test
+    void searchScansOnlyItems() {
+        List<String> plans = explain("findAllBySearch", () -> itemRepository.findAllBySearch("item1", PAGE));
+
+        assertThat(plans).isNotEmpty();
+        plans.forEach(plan -> assertThat(plan.toLowerCase().split("tablescan", -1))
+                .as("findAllBySearch сканирует не только items:%n%s", plan)
+                .hasSizeLessThanOrEqualTo(2));
+    }
+
+    /**
+     * Вызов метода репозитория и EXPLAIN каждого отправленного им в БД запроса с теми же параметрами
+     */
+    private List<String> explain(String method, Runnable query) {
+        entityManager.clear();
+        recorder.clear();
+        query.run();
+        List<RecordedStatement> statements = recorder.getStatements();
+        assertThat(statements).as("%s не выполнил ни одного запроса", method).isNotEmpty();
+        return statements.stream()
+                .map(statement -> jdbcTemplate.query("EXPLAIN " + statement.getSql(), statement::bind,
+                        (rs, rowNum) -> rs.getString(1)).get(0))
+                .collect(Collectors.toList());
+    }
+
+    @TestConfiguration
+    static class RecorderConfig {
+        @Bean
+        static BeanPostProcessor statementRecorderPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource && !(bean instanceof StatementRecorder)
+                            ? new StatementRecorder((DataSource) bean) : bean;
+                }
+            };
+        }
+    }
+}
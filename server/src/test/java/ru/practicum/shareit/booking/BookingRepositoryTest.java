@@ -0,0 +1,122 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.StatusOfBooking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingView;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.util.DataIntegrationTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class BookingRepositoryTest {
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    UserRepository userRepository;
+
+    @Test
+    void existsOverlappingApprovedBooking() {
+        User owner = userRepository.save(DataIntegrationTest.testUser1());
+        User booker = userRepository.save(DataIntegrationTest.testUser2());
+        Item item = DataIntegrationTest.testItem1();
+        item.setOwner(owner);
+        itemRepository.save(item);
+        LocalDateTime time = DataIntegrationTest.time;
+
+        Booking approved = DataIntegrationTest.testFutureBooking1();
+        approved.setStart(time.plusHours(2));
+        approved.setEnd(time.plusHours(4));
+        approved.setItem(item);
+        approved.setBooker(booker);
+        Booking waiting = DataIntegrationTest.testFutureBooking1();
+        waiting.setStatus(StatusOfBooking.WAITING);
+        waiting.setStart(time.plusHours(10));
+        waiting.setEnd(time.plusHours(12));
+        waiting.setItem(item);
+        waiting.setBooker(booker);
+        bookingRepository.save(approved);
+        bookingRepository.save(waiting);
+
+        assertTrue(existsApprovedOverlap(item, time.plusHours(1), time.plusHours(5)));
+        assertTrue(existsApprovedOverlap(item, time, time.plusHours(3)));
+        assertTrue(existsApprovedOverlap(item, time.plusHours(3), time.plusHours(6)));
+        assertTrue(existsApprovedOverlap(item, time.plusHours(4), time.plusHours(5)));
+        assertTrue(existsApprovedOverlap(item, time, time.plusHours(2)));
+        assertFalse(existsApprovedOverlap(item, time, time.plusHours(1)));
+        assertFalse(existsApprovedOverlap(item, time.plusHours(5), time.plusHours(6)));
+        assertFalse(existsApprovedOverlap(item, time.plusHours(11), time.plusHours(13)));
+    }
+
+    @Test
+    void findByCursorWalksAllBookingsWithoutGapsAndDuplicates() {
+        User owner = userRepository.save(DataIntegrationTest.testUser1());
+        User booker = userRepository.save(DataIntegrationTest.testUser2());
+        Item item = DataIntegrationTest.testItem1();
+        item.setOwner(owner);
+        itemRepository.save(item);
+        LocalDateTime time = DataIntegrationTest.time;
+        for (int i = 0; i < 5; i++) {
+            Booking booking = DataIntegrationTest.testFutureBooking1();
+            booking.setStart(time.plusDays(i / 2));
+            booking.setEnd(time.plusDays(i / 2).plusHours(1));
+            booking.setItem(item);
+            booking.setBooker(booker);
+            bookingRepository.save(booking);
+        }
+
+        List<Long> byBooker = new ArrayList<>();
+        List<BookingView> page = bookingRepository.findAllByBookerIdAfterCursor(booker.getId(),
+                BookingCursor.FIRST_PAGE.getStart(), BookingCursor.FIRST_PAGE.getId(), PageRequest.of(0, 2));
+        while (!page.isEmpty()) {
+            page.forEach(booking -> byBooker.add(booking.getId()));
+            BookingView last = page.get(page.size() - 1);
+            page = bookingRepository.findAllByBookerIdAfterCursor(booker.getId(),
+                    last.getStart(), last.getId(), PageRequest.of(0, 2));
+        }
+        List<Long> byOwner = new ArrayList<>();
+        page = bookingRepository.findAllByItemOwnerIdAfterCursor(owner.getId(),
+                BookingCursor.FIRST_PAGE.getStart(), BookingCursor.FIRST_PAGE.getId(), PageRequest.of(0, 2));
+        while (!page.isEmpty()) {
+            page.forEach(booking -> byOwner.add(booking.getId()));
+            BookingView last = page.get(page.size() - 1);
+            page = bookingRepository.findAllByItemOwnerIdAfterCursor(owner.getId(),
+                    last.getStart(), last.getId(), PageRequest.of(0, 2));
+        }
+
+        List<Long> expected = bookingRepository.findAll().stream()
+                .filter(booking -> booking.getItem().getId().equals(item.getId()))
+                .sorted(Comparator.comparing(Booking::getStart).thenComparing(Booking::getId).reversed())
+                .map(Booking::getId)
+                .collect(Collectors.toList());
+        assertEquals(expected, byBooker);
+        assertEquals(expected, byOwner);
+    }
+
+    private boolean existsApprovedOverlap(Item item, LocalDateTime start, LocalDateTime end) {
+        return bookingRepository.existsByItemIdAndStatusAndStartLessThanEqualAndEndGreaterThanEqual(
+                item.getId(), StatusOfBooking.APPROVED, end, start);
+    }
+}
@@ -15,13 +15,14 @@ import ru.practicum.shareit.booking.dto.StateOfBooking;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.StatusOfBooking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingView;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
 import ru.practicum.shareit.exception.BookingAvailableException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserValidator;
 import ru.practicum.shareit.util.DataTest;
 import ru.practicum.shareit.util.TestConstants;
 
@@ -43,7 +44,7 @@ class BookingServiceTest {
     @Mock
     ItemRepository itemRepository;
     @Mock
-    UserRepository userRepository;
+    UserValidator userValidator;
     @Mock
     BookingRepository bookingRepository;
     @InjectMocks
@@ -64,10 +65,10 @@ class BookingServiceTest {
         BookingDtoIn bookingDtoIn = DataTest.testBookingDtoIn2();
         bookingDtoIn.setItemId(item.getId());
 
-        when(userRepository.findById(eq(booker.getId()))).thenReturn(Optional.of(booker));
+        when(userValidator.getReference(eq(booker.getId()))).thenReturn(booker);
         when(itemRepository.findById(eq(item.getId()))).thenReturn(Optional.of(item));
-        when(bookingRepository.findByItemIdAndStatus(eq(item.getId()), eq(StatusOfBooking.APPROVED)))
-                .thenReturn(List.of(DataTest.testLastBooking1()));
+        when(bookingRepository.existsByItemIdAndStatusAndStartLessThanEqualAndEndGreaterThanEqual(eq(item.getId()),
+                eq(StatusOfBooking.APPROVED), eq(bookingDtoIn.getEnd()), eq(bookingDtoIn.getStart()))).thenReturn(false);
         when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
 
         BookingDtoOut bookingDtoOut = bookingService.createBooking(booker.getId(), bookingDtoIn);
@@ -78,11 +79,12 @@ class BookingServiceTest {
         assertThat(bookingDtoOut.getItem().getId(), equalTo(item.getId()));
         assertThat(bookingDtoOut.getItem().getName(), equalTo(item.getName()));
 
-        verify(userRepository, times(1)).findById(eq(booker.getId()));
+        verify(userValidator, times(1)).getReference(eq(booker.getId()));
         verify(itemRepository, times(1)).findById(eq(item.getId()));
-        verify(bookingRepository, times(1)).findByItemIdAndStatus(eq(item.getId()), eq(StatusOfBooking.APPROVED));
+        verify(bookingRepository, times(1)).existsByItemIdAndStatusAndStartLessThanEqualAndEndGreaterThanEqual(eq(item.getId()),
+                eq(StatusOfBooking.APPROVED), eq(bookingDtoIn.getEnd()), eq(bookingDtoIn.getStart()));
         verify(bookingRepository, times(1)).save(any(Booking.class));
-        verifyNoMoreInteractions(itemRepository, userRepository, bookingRepository);
+        verifyNoMoreInteractions(itemRepository, userValidator, bookingRepository);
     }
 
     @Test
@@ -97,7 +99,7 @@ class BookingServiceTest {
         BookingDtoIn bookingDtoIn = DataTest.testBookingDtoIn2();
         bookingDtoIn.setItemId(item.getId());
 
-        when(userRepository.findById(eq(booker.getId()))).thenReturn(Optional.of(booker));
+        when(userValidator.getReference(eq(booker.getId()))).thenReturn(booker);
         when(itemRepository.findById(eq(item.getId()))).thenReturn(Optional.of(item));
 
         BookingAvailableException exception = assertThrows(
@@ -109,9 +111,9 @@ class BookingServiceTest {
         assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
         assertEquals("Вещь недоступна для бронирования", exception.getMessage());
 
-        verify(userRepository, times(1)).findById(eq(booker.getId()));
+        verify(userValidator, times(1)).getReference(eq(booker.getId()));
         verify(itemRepository, times(1)).findById(eq(item.getId()));
-        verifyNoMoreInteractions(itemRepository, userRepository, bookingRepository);
+        verifyNoMoreInteractions(itemRepository, userValidator, bookingRepository);
     }
 
     @Test
@@ -124,7 +126,7 @@ class BookingServiceTest {
         BookingDtoIn bookingDtoIn = DataTest.testBookingDtoIn2();
         bookingDtoIn.setItemId(item.getId());
 
-        when(userRepository.findById(eq(owner.getId()))).thenReturn(Optional.of(owner));
+        when(userValidator.getReference(eq(owner.getId()))).thenReturn(owner);
         when(itemRepository.findById(eq(item.getId()))).thenReturn(Optional.of(item));
 
         NotFoundException exception = assertThrows(
@@ -136,71 +138,29 @@ class BookingServiceTest {
         assertEquals(HttpStatus.NOT_FOUND, exception.getHttpStatus());
         assertEquals("Владелец не может бронировать свою вещь", exception.getMessage());
 
-        verify(userRepository, times(1)).findById(eq(owner.getId()));
+        verify(userValidator, times(1)).getReference(eq(owner.getId()));
         verify(itemRepository, times(1)).findById(eq(item.getId()));
-        verifyNoMoreInteractions(itemRepository, userRepository, bookingRepository);
+        verifyNoMoreInteractions(itemRepository, userValidator, bookingRepository);
     }
 
     /**
-     * Новое бронирование не может быть создано во временных рамках существующего
+     * До прогрева индекса занятости пересечение проверяется запросом к БД
      */
     @Test
-    void createBookingInCrossedDatesThrowExceptionTest() {
-        User owner = DataTest.testUser1();
-        User booker = DataTest.testUser2();
-
-        Item item = DataTest.testItem1();
-        item.setOwner(owner);
-
-        Booking crossedBookingInDate = DataTest.testCrossWithBookingDtoIn1();
-        crossedBookingInDate.setItem(item);
-
-        BookingDtoIn bookingDtoIn = DataTest.testBookingDtoIn();
-        bookingDtoIn.setItemId(item.getId());
-
-        when(userRepository.findById(eq(booker.getId()))).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(eq(item.getId()))).thenReturn(Optional.of(item));
-        when(bookingRepository.findByItemIdAndStatus(eq(item.getId()), eq(StatusOfBooking.APPROVED)))
-                .thenReturn(List.of(crossedBookingInDate));
-
-
-        BookingAvailableException exception = assertThrows(
-                BookingAvailableException.class,
-                () -> bookingService.createBooking(booker.getId(), bookingDtoIn),
-                "Должно быть выброшено исключение"
-        );
-
-        assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
-        assertEquals("Вещь забронирована на запрашиваемые даты", exception.getMessage());
-
-        verify(userRepository, times(1)).findById(eq(booker.getId()));
-        verify(itemRepository, times(1)).findById(eq(item.getId()));
-        verify(bookingRepository, times(1)).findByItemIdAndStatus(eq(item.getId()), eq(StatusOfBooking.APPROVED));
-        verifyNoMoreInteractions(itemRepository, userRepository, bookingRepository);
-    }
-
-    /**
-     * Бронь не должна заканчиваться во время существующего бронирования
-     */
-    @Test
-    void createBookingInCrossedDatesStartBeforeThrowExceptionTest() {
+    void createBookingBeforeIndexWarmUpThrowExceptionTest() {
         User owner = DataTest.testUser1();
         User booker = DataTest.testUser2();
 
         Item item = DataTest.testItem1();
         item.setOwner(owner);
 
-        Booking crossedBookingStartBefore = DataTest.testCrossWithBookingDtoIn2();
-        crossedBookingStartBefore.setItem(item);
-
         BookingDtoIn bookingDtoIn = DataTest.testBookingDtoIn();
         bookingDtoIn.setItemId(item.getId());
 
-        when(userRepository.findById(eq(booker.getId()))).thenReturn(Optional.of(booker));
+        when(userValidator.getReference(eq(booker.getId()))).thenReturn(booker);
         when(itemRepository.findById(eq(item.getId()))).thenReturn(Optional.of(item));
-        when(bookingRepository.findByItemIdAndStatus(eq(item.getId()), eq(StatusOfBooking.APPROVED)))
-                .thenReturn(List.of(crossedBookingStartBefore));
-
+        when(bookingRepository.existsByItemIdAndStatusAndStartLessThanEqualAndEndGreaterThanEqual(eq(item.getId()),
+                eq(StatusOfBooking.APPROVED), eq(bookingDtoIn.getEnd()), eq(bookingDtoIn.getStart()))).thenReturn(true);
 
         BookingAvailableException exception = assertThrows(
                 BookingAvailableException.class,
@@ -208,37 +168,33 @@ class BookingServiceTest {
                 "Должно быть выброшено исключение"
         );
 
-        assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
         assertEquals("Вещь забронирована на запрашиваемые даты", exception.getMessage());
 
-        verify(userRepository, times(1)).findById(eq(booker.getId()));
+        verify(userValidator, times(1)).getReference(eq(booker.getId()));
         verify(itemRepository, times(1)).findById(eq(item.getId()));
-        verify(bookingRepository, times(1)).findByItemIdAndStatus(eq(item.getId()), eq(StatusOfBooking.APPROVED));
-        verifyNoMoreInteractions(itemRepository, userRepository, bookingRepository);
+        verify(bookingRepository, times(1)).existsByItemIdAndStatusAndStartLessThanEqualAndEndGreaterThanEqual(eq(item.getId()),
+                eq(StatusOfBooking.APPROVED), eq(bookingDtoIn.getEnd()), eq(bookingDtoIn.getStart()));
+        verifyNoMoreInteractions(itemRepository, userValidator, bookingRepository);
     }
 
     /**
-     * Начало нового бронирования не должно быть во время существующего
+     * Новое бронирование не может пересекаться с подтвержденным, пересечение ищет запрос к БД
      */
     @Test
-    void createBookingInCrossedDatesEndAfterThrowExceptionTest() {
+    void createBookingInCrossedDatesThrowExceptionTest() {
         User owner = DataTest.testUser1();
         User booker = DataTest.testUser2();
 
         Item item = DataTest.testItem1();
         item.setOwner(owner);
 
-        Booking crossedBookingEndAfter = DataTest.testCrossWithBookingDtoIn3();
-        crossedBookingEndAfter.setItem(item);
-
         BookingDtoIn bookingDtoIn = DataTest.testBookingDtoIn();
         bookingDtoIn.setItemId(item.getId());
 
-        when(userRepository.findById(eq(booker.getId()))).thenReturn(Optional.of(booker));
+        when(userValidator.getReference(eq(booker.getId()))).thenReturn(booker);
         when(itemRepository.findById(eq(item.getId()))).thenReturn(Optional.of(item));
-        when(bookingRepository.findByItemIdAndStatus(eq(item.getId()), eq(StatusOfBooking.APPROVED)))
-                .thenReturn(List.of(crossedBookingEndAfter));
-
+        when(bookingRepository.existsByItemIdAndStatusAndStartLessThanEqualAndEndGreaterThanEqual(eq(item.getId()),
+                eq(StatusOfBooking.APPROVED), eq(bookingDtoIn.getEnd()), eq(bookingDtoIn.getStart()))).thenReturn(true);
 
         BookingAvailableException exception = assertThrows(
                 BookingAvailableException.class,
@@ -249,118 +205,75 @@ class BookingServiceTest {
         assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
         assertEquals("Вещь забронирована на запрашиваемые даты", exception.getMessage());
 
-        verify(userRepository, times(1)).findById(eq(booker.getId()));
+        verify(userValidator, times(1)).getReference(eq(booker.getId()));
         verify(itemRepository, times(1)).findById(eq(item.getId()));
-        verify(bookingRepository, times(1)).findByItemIdAndStatus(eq(item.getId()), eq(StatusOfBooking.APPROVED));
-        verifyNoMoreInteractions(itemRepository, userRepository, bookingRepository);
+        verify(bookingRepository, times(1)).existsByItemIdAndStatusAndStartLessThanEqualAndEndGreaterThanEqual(eq(item.getId()),
+                eq(StatusOfBooking.APPROVED), eq(bookingDtoIn.getEnd()), eq(bookingDtoIn.getStart()));
+        verifyNoMoreInteractions(itemRepository, userValidator, bookingRepository);
     }
 
-    /**
-     * Начало нового бронирования не должно быть одновременно с окончанием существующего
-     */
     @Test
-    void createBookingInCrossedDatesStartInParallelEndThrowExceptionTest() {
+    void updateStatusTest() {
         User owner = DataTest.testUser1();
         User booker = DataTest.testUser2();
 
         Item item = DataTest.testItem1();
         item.setOwner(owner);
 
-        Booking crossedBookingInParallel = DataTest.testCrossWithBookingDtoIn4();
-        crossedBookingInParallel.setItem(item);
-
-        BookingDtoIn bookingDtoIn = DataTest.testBookingDtoIn();
-        bookingDtoIn.setItemId(item.getId());
-
-        when(userRepository.findById(eq(booker.getId()))).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(eq(item.getId()))).thenReturn(Optional.of(item));
-        when(bookingRepository.findByItemIdAndStatus(eq(item.getId()), eq(StatusOfBooking.APPROVED)))
-                .thenReturn(List.of(crossedBookingInParallel));
+        Booking booking = DataTest.testFutureWaitingBooking3();
+        booking.setBooker(booker);
+        booking.setItem(item);
 
+        when(bookingRepository.findById(eq(booking.getId()))).thenReturn(Optional.of(booking));
+        when(bookingRepository.existsByItemIdAndStatusAndStartLessThanEqualAndEndGreaterThanEqual(eq(item.getId()),
+                eq(StatusOfBooking.APPROVED), eq(booking.getEnd()), eq(booking.getStart()))).thenReturn(false);
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenReturn(booking);
 
-        BookingAvailableException exception = assertThrows(
-                BookingAvailableException.class,
-                () -> bookingService.createBooking(booker.getId(), bookingDtoIn),
-                "Должно быть выброшено исключение"
-        );
+        BookingDtoOut bookingDtoOut = bookingService.updateStatus(owner.getId(), true, booking.getId());
 
-        assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
-        assertEquals("Вещь забронирована на запрашиваемые даты", exception.getMessage());
+        assertThat(bookingDtoOut.getId(), equalTo(booking.getId()));
+        assertThat(bookingDtoOut.getStatus(), equalTo(booking.getStatus()));
+        assertThat(bookingDtoOut.getStatus(), equalTo(StatusOfBooking.APPROVED));
+        assertThat(bookingDtoOut.getBooker().getId(), equalTo(booker.getId()));
+        assertThat(bookingDtoOut.getItem().getId(), equalTo(item.getId()));
+        assertThat(bookingDtoOut.getItem().getName(), equalTo(item.getName()));
 
-        verify(userRepository, times(1)).findById(eq(booker.getId()));
-        verify(itemRepository, times(1)).findById(eq(item.getId()));
-        verify(bookingRepository, times(1)).findByItemIdAndStatus(eq(item.getId()), eq(StatusOfBooking.APPROVED));
-        verifyNoMoreInteractions(itemRepository, userRepository, bookingRepository);
+        verify(userValidator, times(1)).checkExists(eq(owner.getId()));
+        verify(bookingRepository, times(1)).findById(eq(booking.getId()));
+        verify(bookingRepository, times(1)).existsByItemIdAndStatusAndStartLessThanEqualAndEndGreaterThanEqual(eq(item.getId()),
+                eq(StatusOfBooking.APPROVED), eq(booking.getEnd()), eq(booking.getStart()));
+        verify(bookingRepository, times(1)).saveAndFlush(any(Booking.class));
+        verifyNoMoreInteractions(itemRepository, userValidator, bookingRepository);
     }
 
     /**
-     * Окончание нового бронирования не должно быть одновременно со стартом существующего
+     * Нельзя подтвердить бронь, пересекающуюся с уже подтвержденной
      */
     @Test
-    void createBookingInCrossedDatesEndInParallelStartThrowExceptionTest() {
+    void updateStatusInCrossedDatesThrowExceptionTest() {
         User owner = DataTest.testUser1();
         User booker = DataTest.testUser2();
 
         Item item = DataTest.testItem1();
         item.setOwner(owner);
 
-        Booking crossedBookingInParallel = DataTest.testCrossWithBookingDtoIn5();
-        crossedBookingInParallel.setItem(item);
-
-        BookingDtoIn bookingDtoIn = DataTest.testBookingDtoIn();
-        bookingDtoIn.setItemId(item.getId());
-
-        when(userRepository.findById(eq(booker.getId()))).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(eq(item.getId()))).thenReturn(Optional.of(item));
-        when(bookingRepository.findByItemIdAndStatus(eq(item.getId()), eq(StatusOfBooking.APPROVED)))
-                .thenReturn(List.of(crossedBookingInParallel));
+        Booking booking = DataTest.testFutureWaitingBooking3();
+        booking.setBooker(booker);
+        booking.setItem(item);
 
+        when(bookingRepository.findById(eq(booking.getId()))).thenReturn(Optional.of(booking));
+        when(bookingRepository.existsByItemIdAndStatusAndStartLessThanEqualAndEndGreaterThanEqual(eq(item.getId()),
+                eq(StatusOfBooking.APPROVED), eq(booking.getEnd()), eq(booking.getStart()))).thenReturn(true);
 
         BookingAvailableException exception = assertThrows(
                 BookingAvailableException.class,
-                () -> bookingService.createBooking(booker.getId(), bookingDtoIn),
+                () -> bookingService.updateStatus(owner.getId(), true, booking.getId()),
                 "Должно быть выброшено исключение"
         );
 
-        assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
         assertEquals("Вещь забронирована на запрашиваемые даты", exception.getMessage());
-
-        verify(userRepository, times(1)).findById(eq(booker.getId()));
-        verify(itemRepository, times(1)).findById(eq(item.getId()));
-        verify(bookingRepository, times(1)).findByItemIdAndStatus(eq(item.getId()), eq(StatusOfBooking.APPROVED));
-        verifyNoMoreInteractions(itemRepository, userRepository, bookingRepository);
-    }
-
-
-    @Test
-    void updateStatusTest() {
-        User owner = DataTest.testUser1();
-        User booker = DataTest.testUser2();
-
-        Item item = DataTest.testItem1();
-        item.setOwner(owner);
-
-        Booking booking = DataTest.testFutureWaitingBooking3();
-        booking.setBooker(booker);
-        booking.setItem(item);
-
-        when(bookingRepository.findById(eq(booking.getId()))).thenReturn(Optional.of(booking));
-        when(userRepository.findById(eq(owner.getId()))).thenReturn(Optional.of(owner));
-        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
-
-        BookingDtoOut bookingDtoOut = bookingService.updateStatus(owner.getId(), true, booking.getId());
-
-        assertThat(bookingDtoOut.getId(), equalTo(booking.getId()));
-        assertThat(bookingDtoOut.getStatus(), equalTo(booking.getStatus()));
-        assertThat(bookingDtoOut.getStatus(), equalTo(StatusOfBooking.APPROVED));
-        assertThat(bookingDtoOut.getBooker().getId(), equalTo(booker.getId()));
-        assertThat(bookingDtoOut.getItem().getId(), equalTo(item.getId()));
-        assertThat(bookingDtoOut.getItem().getName(), equalTo(item.getName()));
-
-        verify(userRepository, times(1)).findById(eq(owner.getId()));
-        verify(bookingRepository, times(1)).findById(eq(booking.getId()));
-        verify(bookingRepository, times(1)).save(any(Booking.class));
-        verifyNoMoreInteractions(itemRepository, userRepository, bookingRepository);
+        assertEquals(StatusOfBooking.WAITING, booking.getStatus());
+        verify(bookingRepository, never()).saveAndFlush(any(Booking.class));
     }
 
     @Test
@@ -376,7 +289,6 @@ class BookingServiceTest {
         booking.setItem(item);
 
         when(bookingRepository.findById(eq(booking.getId()))).thenReturn(Optional.of(booking));
-        when(userRepository.findById(eq(booker.getId()))).thenReturn(Optional.of(booker));
 
         NotFoundException exception = assertThrows(
                 NotFoundException.class,
@@ -386,9 +298,9 @@ class BookingServiceTest {
         assertEquals(HttpStatus.NOT_FOUND, exception.getHttpStatus());
         assertEquals("Только владелец может подтвердить/отклонить бронь", exception.getMessage());
 
-        verify(userRepository, times(1)).findById(eq(booker.getId()));
+        verify(userValidator, times(1)).checkExists(eq(booker.getId()));
         verify(bookingRepository, times(1)).findById(eq(booking.getId()));
-        verifyNoMoreInteractions(itemRepository, userRepository, bookingRepository);
+        verifyNoMoreInteractions(itemRepository, userValidator, bookingRepository);
     }
 
     @Test
@@ -405,7 +317,6 @@ class BookingServiceTest {
         booking.setStatus(StatusOfBooking.APPROVED);
 
         when(bookingRepository.findById(eq(booking.getId()))).thenReturn(Optional.of(booking));
-        when(userRepository.findById(eq(owner.getId()))).thenReturn(Optional.of(owner));
 
         BookingAvailableException exception = assertThrows(
                 BookingAvailableException.class,
@@ -415,9 +326,9 @@ class BookingServiceTest {
         assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
         assertEquals("Бронь уже подтверждена или отклонена", exception.getMessage());
 
-        verify(userRepository, times(1)).findById(eq(owner.getId()));
+        verify(userValidator, times(1)).checkExists(eq(owner.getId()));
         verify(bookingRepository, times(1)).findById(eq(booking.getId()));
-        verifyNoMoreInteractions(itemRepository, userRepository, bookingRepository);
+        verifyNoMoreInteractions(itemRepository, userValidator, bookingRepository);
     }
 
     @Test
@@ -433,7 +344,6 @@ class BookingServiceTest {
         booking.setItem(item);
 
         when(bookingRepository.findById(eq(booking.getId()))).thenReturn(Optional.of(booking));
-        when(userRepository.findById(eq(owner.getId()))).thenReturn(Optional.of(owner));
 
         BookingDtoOut bookingDtoByOwnerOut = bookingService.getBooking(owner.getId(), booking.getId());
 
@@ -444,8 +354,8 @@ class BookingServiceTest {
         assertThat(bookingDtoByOwnerOut.getItem().getName(), equalTo(item.getName()));
 
         verify(bookingRepository, times(1)).findById(eq(booking.getId()));
-        verify(userRepository, times(1)).findById(eq(owner.getId()));
-        verifyNoMoreInteractions(itemRepository, userRepository, bookingRepository);
+        verify(userValidator, times(1)).checkExists(eq(owner.getId()));
+        verifyNoMoreInteractions(itemRepository, userValidator, bookingRepository);
 
     }
 
@@ -462,7 +372,6 @@ class BookingServiceTest {
         booking.setItem(item);
 
         when(bookingRepository.findById(eq(booking.getId()))).thenReturn(Optional.of(booking));
-        when(userRepository.findById(eq(owner.getId()))).thenReturn(Optional.of(owner));
 
         BookingDtoOut bookingDtoByBookerOut = bookingService.getBooking(owner.getId(), booking.getId());
 
@@ -473,8 +382,8 @@ class BookingServiceTest {
         assertThat(bookingDtoByBookerOut.getItem().getName(), equalTo(item.getName()));
 
         verify(bookingRepository, times(1)).findById(eq(booking.getId()));
-        verify(userRepository, times(1)).findById(eq(owner.getId()));
-        verifyNoMoreInteractions(itemRepository, userRepository, bookingRepository);
+        verify(userValidator, times(1)).checkExists(eq(owner.getId()));
+        verifyNoMoreInteractions(itemRepository, userValidator, bookingRepository);
     }
 
     @Test
@@ -491,7 +400,6 @@ class BookingServiceTest {
         booking.setItem(item);
 
         when(bookingRepository.findById(eq(booking.getId()))).thenReturn(Optional.of(booking));
-        when(userRepository.findById(eq(user.getId()))).thenReturn(Optional.of(user));
 
         NotFoundException exception = assertThrows(
                 NotFoundException.class,
@@ -503,8 +411,8 @@ class BookingServiceTest {
         assertEquals("Для данного пользователя бронирования не найдены", exception.getMessage());
 
         verify(bookingRepository, times(1)).findById(eq(booking.getId()));
-        verify(userRepository, times(1)).findById(eq(user.getId()));
-        verifyNoMoreInteractions(itemRepository, userRepository, bookingRepository);
+        verify(userValidator, times(1)).checkExists(eq(user.getId()));
+        verifyNoMoreInteractions(itemRepository, userValidator, bookingRepository);
     }
 
     @Test
@@ -529,20 +437,21 @@ class BookingServiceTest {
         futureBooking.setBooker(booker);
         futureBooking.setItem(item2);
 
-        List<Booking> bookings = List.of(waitingBooking, lastBooking, futureBooking);
-
-        when(userRepository.findById(eq(booker.getId()))).thenReturn(Optional.of(booker));
+        BookingView waitingView = DataTest.bookingView(waitingBooking);
+        BookingView lastView = DataTest.bookingView(lastBooking);
+        BookingView futureView = DataTest.bookingView(futureBooking);
+        List<BookingView> bookings = List.of(waitingView, lastView, futureView);
         when(bookingRepository.findAllByBookerIdOrderByStartDesc(
                 eq(booker.getId()), any(Pageable.class))).thenReturn(bookings);
         when(bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
                 (eq(booker.getId())), any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class)))
                 .thenReturn(new ArrayList<>());
         when(bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(
-                eq(booker.getId()), any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(lastBooking));
+                eq(booker.getId()), any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(lastView));
         when(bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDesc(
-                eq(booker.getId()), any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(futureBooking));
+                eq(booker.getId()), any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(futureView));
         when(bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(
-                eq(booker.getId()), eq(StatusOfBooking.WAITING), any(Pageable.class))).thenReturn(List.of(waitingBooking));
+                eq(booker.getId()), eq(StatusOfBooking.WAITING), any(Pageable.class))).thenReturn(List.of(waitingView));
         when(bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(
                 eq(booker.getId()), eq(StatusOfBooking.REJECTED), any(Pageable.class))).thenReturn(new ArrayList<>());
 
@@ -568,7 +477,7 @@ class BookingServiceTest {
         assertThat(bookingDtoOutWaitingList.get(0).getId(), equalTo(waitingBooking.getId()));
         assertThat(bookingDtoOutRejectedList.size(), equalTo(0));
 
-        verify(userRepository, times(6)).findById(eq(booker.getId()));
+        verify(userValidator, times(6)).checkExists(eq(booker.getId()));
         verify(bookingRepository, times(1)).findAllByBookerIdOrderByStartDesc(
                 eq(booker.getId()), any(Pageable.class));
         verify(bookingRepository, times(1)).findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
@@ -582,7 +491,7 @@ class BookingServiceTest {
         verify(bookingRepository, times(1)).findAllByBookerIdAndStatusOrderByStartDesc(
                 eq(booker.getId()), eq(StatusOfBooking.REJECTED), any(Pageable.class));
 
-        verifyNoMoreInteractions(itemRepository, userRepository, bookingRepository);
+        verifyNoMoreInteractions(itemRepository, userValidator, bookingRepository);
     }
 
     @Test
@@ -607,20 +516,21 @@ class BookingServiceTest {
         futureBooking.setBooker(booker);
         futureBooking.setItem(item2);
 
-        List<Booking> bookings = List.of(waitingBooking, lastBooking, futureBooking);
-
-        when(userRepository.findById(eq(owner.getId()))).thenReturn(Optional.of(owner));
+        BookingView waitingView = DataTest.bookingView(waitingBooking);
+        BookingView lastView = DataTest.bookingView(lastBooking);
+        BookingView futureView = DataTest.bookingView(futureBooking);
+        List<BookingView> bookings = List.of(waitingView, lastView, futureView);
         when(bookingRepository.findAllByItemOwnerIdOrderByStartDesc(
                 eq(owner.getId()), any(Pageable.class))).thenReturn(bookings);
         when(bookingRepository.findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(
                 (eq(owner.getId())), any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class)))
                 .thenReturn(new ArrayList<>());
         when(bookingRepository.findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(
-                eq(owner.getId()), any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(lastBooking));
+                eq(owner.getId()), any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(lastView));
         when(bookingRepository.findAllByItemOwnerIdAndStartAfterOrderByStartDesc(
-                eq(owner.getId()), any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(futureBooking));
+                eq(owner.getId()), any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(futureView));
         when(bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(
-                eq(owner.getId()), eq(StatusOfBooking.WAITING), any(Pageable.class))).thenReturn(List.of(waitingBooking));
+                eq(owner.getId()), eq(StatusOfBooking.WAITING), any(Pageable.class))).thenReturn(List.of(waitingView));
         when(bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(
                 eq(owner.getId()), eq(StatusOfBooking.REJECTED), any(Pageable.class))).thenReturn(new ArrayList<>());
 
@@ -646,7 +556,7 @@ class BookingServiceTest {
         assertThat(bookingDtoOutWaitingList.get(0).getId(), equalTo(waitingBooking.getId()));
         assertThat(bookingDtoOutRejectedList.size(), equalTo(0));
 
-        verify(userRepository, times(6)).findById(eq(owner.getId()));
+        verify(userValidator, times(6)).checkExists(eq(owner.getId()));
         verify(bookingRepository, times(1)).findAllByItemOwnerIdOrderByStartDesc(
                 eq(owner.getId()), any(Pageable.class));
         verify(bookingRepository, times(1)).findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(
@@ -660,6 +570,6 @@ class BookingServiceTest {
         verify(bookingRepository, times(1)).findAllByItemOwnerIdAndStatusOrderByStartDesc(
                 eq(owner.getId()), eq(StatusOfBooking.REJECTED), any(Pageable.class));
 
-        verifyNoMoreInteractions(itemRepository, userRepository, bookingRepository);
+        verifyNoMoreInteractions(itemRepository, userValidator, bookingRepository);
     }
 }
\ No newline at end of file
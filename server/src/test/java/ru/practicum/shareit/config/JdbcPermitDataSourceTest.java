@@ -0,0 +1,47 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JdbcPermitDataSourceTest {
+
+    @Test
+    void connectionHoldsPermitUntilCloseTest() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(connection);
+        JdbcPermitDataSource dataSource = new JdbcPermitDataSource(pool, 1, Duration.ofMillis(50));
+
+        Connection first = dataSource.getConnection();
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        first.close();
+        first.close();
+        Connection second = dataSource.getConnection();
+        assertNotNull(second);
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        verify(pool, times(2)).getConnection();
+    }
+
+    @Test
+    void permitReturnedWhenPoolFailsTest() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenThrow(new SQLTransientConnectionException("pool timeout"))
+                .thenReturn(mock(Connection.class));
+        JdbcPermitDataSource dataSource = new JdbcPermitDataSource(pool, 1, Duration.ofMillis(50));
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        assertNotNull(dataSource.getConnection());
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.UserController;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.DataTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = UserController.class)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class SmileConfigTest {
+    static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+    final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+
+    @MockBean
+    UserService userService;
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void smileRequestAndResponseTest() throws Exception {
+        UserDto userDto = DataTest.testUserDto1();
+        when(userService.updateUser(any(UserDto.class), eq(userDto.getId())))
+                .thenReturn(userDto);
+
+        byte[] response = mockMvc.perform(patch("/users/{id}", userDto.getId())
+                        .content(smileMapper.writeValueAsBytes(userDto))
+                        .contentType(SMILE)
+                        .accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        UserDto result = smileMapper.readValue(response, UserDto.class);
+        assertEquals(userDto.getId(), result.getId());
+        assertEquals(userDto.getName(), result.getName());
+        assertEquals(userDto.getEmail(), result.getEmail());
+    }
+
+    @Test
+    void jsonByDefaultTest() throws Exception {
+        when(userService.getUserById(1L))
+                .thenReturn(DataTest.testUserDto1());
+
+        mockMvc.perform(get("/users/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.ItemView;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.util.DataTest;
@@ -33,8 +34,13 @@ class ItemRepositoryTest {
         Item item3 = DataTest.testItem3();
         Item item4 = DataTest.testItem4();
         Item item5 = DataTest.testItem5();
-        userRepository.save(user);
-        itemRepository.saveAll(List.of(item1, item2, item3, item4, item5));
+        User savedUser = userRepository.save(user);
+        List<Item> items = List.of(item1, item2, item3, item4, item5);
+        items.forEach(item -> {
+            item.setId(null);
+            item.setOwner(savedUser);
+        });
+        itemRepository.saveAll(items);
 
         Pageable pageable = PageRequest.of(0, 10);
 
@@ -45,4 +51,25 @@ class ItemRepositoryTest {
         assertThat(itemRepository.findAllBySearch("шКолы ВоЛка", pageable)).hasSize(3);
         assertThat(itemRepository.findAllBySearch("меч", pageable)).hasSize(1);
     }
-}
\ No newline at end of file
+
+    @Test
+    void findAllBySearchSkipsUnavailableAndOrdersByRelevance() {
+        User savedUser = userRepository.save(DataTest.testUser1());
+        Item byDescription = DataTest.testItem1();
+        Item byName = DataTest.testItem4();
+        Item unavailable = DataTest.testItem3();
+        unavailable.setAvailable(false);
+        List<Item> items = List.of(byDescription, byName, unavailable);
+        items.forEach(item -> {
+            item.setId(null);
+            item.setOwner(savedUser);
+        });
+        byDescription.setDescription("Меч, пробивающий любой доспех");
+        itemRepository.saveAll(items);
+
+        assertThat(itemRepository.findAllBySearch("доспех", PageRequest.of(0, 10)))
+                .extracting(ItemView::getId)
+                .containsExactly(byName.getId(), byDescription.getId());
+        assertThat(itemRepository.findAllBySearch("%", PageRequest.of(0, 10))).isEmpty();
+    }
+}
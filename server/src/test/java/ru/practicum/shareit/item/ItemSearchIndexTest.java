@@ -0,0 +1,128 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
+import ru.practicum.shareit.util.DataTest;
+import ru.practicum.shareit.util.TestConstants;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemSearchIndexTest {
+    private final ItemSearchIndex searchIndex = new ItemSearchIndex();
+
+    @BeforeEach
+    void warmUp() {
+        searchIndex.warmUp(() -> ItemMapper.fromListOfItemToDto(
+                List.of(DataTest.testItem1(), DataTest.testItem2(), DataTest.testItem4())));
+    }
+
+    @Test
+    void searchBySubstringTest() {
+        assertTrue(searchIndex.isWarmedUp());
+        assertThat(search("ШКОЛЫ волка"), contains(1L, 2L, 4L));
+        assertThat(search("гроссмейстер"), contains(4L));
+        assertThat(search("ме"), contains(1L, 4L));
+        assertThat(search("грифон"), empty());
+    }
+
+    @Test
+    void searchOrdersByRelevanceTest() {
+        ItemDto item = ItemMapper.fromItemToDto(DataTest.testItem3());
+        item.setId(3L);
+        item.setDescription("Доспех, с которым не нужны штаны");
+        searchIndex.putAfterCommit(item);
+
+        assertThat(search("штаны"), contains(2L, 3L));
+        assertThat(search("доспех"), contains(3L, 4L));
+        assertThat(searchIndex.search("волка", PageRequest.of(1, 2)).stream()
+                .map(ItemDto::getId)
+                .collect(Collectors.toList()), contains(4L));
+    }
+
+    /**
+     * Страницы, выбранные по отдельности, складываются в общий порядок выдачи
+     */
+    @Test
+    void searchPagesFollowRelevanceOrderTest() {
+        for (long id = 10; id < 30; id++) {
+            ItemDto item = ItemMapper.fromItemToDto(DataTest.testItem1());
+            item.setId(id);
+            item.setName(id % 3 == 0 ? "Меч" : id % 3 == 1 ? "Серебряный меч" : "Ножны");
+            item.setDescription("Для меча");
+            searchIndex.putAfterCommit(item);
+        }
+
+        List<Long> all = searchIndex.search("меч", PageRequest.of(0, 100)).stream()
+                .map(ItemDto::getId)
+                .collect(Collectors.toList());
+        List<Long> paged = new ArrayList<>();
+        for (int page = 0; page < 5; page++) {
+            searchIndex.search("меч", PageRequest.of(page, 7)).stream()
+                    .map(ItemDto::getId)
+                    .forEach(paged::add);
+        }
+
+        assertThat(all.size(), equalTo(21));
+        assertThat(all.subList(0, 7), contains(1L, 12L, 15L, 18L, 21L, 24L, 27L));
+        assertThat(paged, equalTo(all));
+    }
+
+    @Test
+    void updateAndRemoveTest() {
+        ItemDto item = ItemMapper.fromItemToDto(DataTest.testItem2());
+        item.setName("Сапоги");
+        item.setDescription("Сапоги школы кота");
+        searchIndex.putAfterCommit(item);
+
+        assertThat(search("штаны"), empty());
+        assertThat(search("школы"), contains(1L, 2L, 4L));
+
+        item.setAvailable(false);
+        searchIndex.putAfterCommit(item);
+        searchIndex.removeAfterCommit(4L);
+
+        assertThat(search("школы"), contains(1L));
+    }
+
+    @Test
+    void warmUpKeepsChangesCommittedDuringSnapshotTest() {
+        ItemDto renamed = ItemMapper.fromItemToDto(DataTest.testItem1());
+        renamed.setName("Сапоги");
+        renamed.setDescription("Сапоги школы кота");
+
+        searchIndex.warmUp(() -> {
+            List<ItemDto> staleSnapshot = ItemMapper.fromListOfItemToDto(
+                    List.of(DataTest.testItem1(), DataTest.testItem2(), DataTest.testItem4()));
+            searchIndex.putAfterCommit(renamed);
+            searchIndex.removeAfterCommit(4L);
+            return staleSnapshot;
+        });
+
+        assertThat(search("кота"), contains(1L));
+        assertThat(search("школы волка"), contains(2L));
+    }
+
+    @Test
+    void warmUpRemovesItemsMissingInSnapshotTest() {
+        searchIndex.warmUp(() -> ItemMapper.fromListOfItemToDto(List.of(DataTest.testItem2())));
+
+        assertThat(search("школы волка"), contains(2L));
+    }
+
+    private List<Long> search(String text) {
+        return searchIndex.search(text, TestConstants.PAGEABLE).stream()
+                .map(ItemDto::getId)
+                .collect(Collectors.toList());
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.StatusOfBooking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.comment.CommentDto;
@@ -157,10 +158,31 @@ class ItemServiceImplIntegrationTest {
         Item item3 = DataIntegrationTest.testItem3();
         item3.setOwner(owner);
         itemRepository.saveAll(List.of(item, item2, item3));
+        User booker = DataIntegrationTest.testUser2();
+        userRepository.save(booker);
+        Booking olderBooking = DataIntegrationTest.testLastBooking1();
+        olderBooking.setStart(olderBooking.getStart().minusDays(5));
+        Booking lastBooking = DataIntegrationTest.testLastBooking2();
+        Booking nextBooking = DataIntegrationTest.testFutureBooking1();
+        Booking waitingBooking = DataIntegrationTest.testFutureBooking1();
+        waitingBooking.setStart(nextBooking.getStart().minusHours(12));
+        waitingBooking.setStatus(StatusOfBooking.WAITING);
+        List<Booking> bookings = List.of(olderBooking, lastBooking, nextBooking, waitingBooking);
+        bookings.forEach(booking -> {
+            booking.setItem(item2);
+            booking.setBooker(booker);
+        });
+        bookingRepository.saveAll(bookings);
 
         List<ItemDto> itemDtoList = itemService.getAllByOwner(owner.getId(), TestConstants.PAGEABLE);
 
         assertThat(itemDtoList).hasSize(3);
+        assertNull(itemDtoList.get(0).getLastBooking());
+        assertNull(itemDtoList.get(0).getNextBooking());
+        assertEquals(lastBooking.getId(), itemDtoList.get(1).getLastBooking().getId());
+        assertEquals(booker.getId(), itemDtoList.get(1).getLastBooking().getBookerId());
+        assertEquals(nextBooking.getId(), itemDtoList.get(1).getNextBooking().getId());
+        assertEquals(booker.getId(), itemDtoList.get(1).getNextBooking().getBookerId());
     }
 
     @Test
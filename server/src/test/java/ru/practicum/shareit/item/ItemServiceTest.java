@@ -7,7 +7,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.http.HttpStatus;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.StatusOfBooking;
@@ -17,20 +19,25 @@ import ru.practicum.shareit.exception.IncorrectException;
 import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.comment.CommentRepository;
+import ru.practicum.shareit.item.comment.CommentView;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.ItemView;
+import ru.practicum.shareit.item.repository.ItemWithBookings;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserValidator;
 import ru.practicum.shareit.util.DataTest;
 import ru.practicum.shareit.util.TestConstants;
 
 import java.time.LocalDateTime;
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -46,13 +53,17 @@ class ItemServiceTest {
     @Mock
     ItemRepository itemRepository;
     @Mock
-    UserRepository userRepository;
+    UserValidator userValidator;
     @Mock
     BookingRepository bookingRepository;
     @Mock
     CommentRepository commentRepository;
     @Mock
     ItemRequestRepository requestRepository;
+    @Mock
+    ItemSearchIndex searchIndex;
+    @Mock
+    ObjectProvider<ItemSearchIndex> searchIndexProvider;
     @InjectMocks
     ItemServiceImpl itemService;
 
@@ -63,7 +74,7 @@ class ItemServiceTest {
         item.setOwner(owner);
         ItemDto itemDto = new ItemDto();
 
-        when(userRepository.findById(eq(owner.getId()))).thenReturn(Optional.of(owner));
+        when(userValidator.getReference(eq(owner.getId()))).thenReturn(owner);
         when(itemRepository.save(any(Item.class))).thenReturn(item);
 
         ItemDto createdItemDto = itemService.createItem(itemDto, owner.getId());
@@ -72,9 +83,9 @@ class ItemServiceTest {
         assertThat(createdItemDto.getDescription(), equalTo(item.getDescription()));
         assertThat(createdItemDto.getAvailable(), equalTo(item.getAvailable()));
 
-        verify(userRepository, times(1)).findById(eq(owner.getId()));
+        verify(userValidator, times(1)).getReference(eq(owner.getId()));
         verify(itemRepository, times(1)).save(any(Item.class));
-        verifyNoMoreInteractions(userRepository, itemRepository);
+        verifyNoMoreInteractions(userValidator, itemRepository);
     }
 
     @Test
@@ -87,8 +98,9 @@ class ItemServiceTest {
         ItemDto itemDto = new ItemDto();
         itemDto.setRequestId(itemRequest.getId());
 
-        when(userRepository.findById(eq(owner.getId()))).thenReturn(Optional.of(owner));
-        when(requestRepository.findById(eq(itemRequest.getId()))).thenReturn(Optional.of(itemRequest));
+        when(userValidator.getReference(eq(owner.getId()))).thenReturn(owner);
+        when(requestRepository.existsById(eq(itemRequest.getId()))).thenReturn(true);
+        when(requestRepository.getReferenceById(eq(itemRequest.getId()))).thenReturn(itemRequest);
         when(itemRepository.save(any(Item.class))).thenReturn(item);
 
 
@@ -99,10 +111,11 @@ class ItemServiceTest {
         assertThat(createdItemDto.getAvailable(), equalTo(item.getAvailable()));
         assertThat(createdItemDto.getRequestId(), equalTo(itemRequest.getId()));
 
-        verify(userRepository, times(1)).findById(eq(owner.getId()));
-        verify(requestRepository, times(1)).findById(eq(itemRequest.getId()));
+        verify(userValidator, times(1)).getReference(eq(owner.getId()));
+        verify(requestRepository, times(1)).existsById(eq(itemRequest.getId()));
+        verify(requestRepository, times(1)).getReferenceById(eq(itemRequest.getId()));
         verify(itemRepository, times(1)).save(any(Item.class));
-        verifyNoMoreInteractions(userRepository, itemRepository);
+        verifyNoMoreInteractions(userValidator, itemRepository);
     }
 
 
@@ -116,11 +129,12 @@ class ItemServiceTest {
         CommentDto commentDto = new CommentDto();
 
 
-        when(userRepository.findById(eq(author.getId()))).thenReturn(Optional.of(author));
-        when(itemRepository.findById(eq(item.getId()))).thenReturn(Optional.of(item));
-        when(bookingRepository.findAllByItemIdAndBookerIdAndEndBeforeAndStatus(
+        when(userValidator.getReference(eq(author.getId()))).thenReturn(author);
+        when(itemRepository.existsById(eq(item.getId()))).thenReturn(true);
+        when(itemRepository.getReferenceById(eq(item.getId()))).thenReturn(item);
+        when(bookingRepository.existsByItemIdAndBookerIdAndEndBeforeAndStatus(
                 eq(item.getId()), eq(author.getId()), any(LocalDateTime.class), any(StatusOfBooking.class)))
-                .thenReturn(List.of(new Booking()));
+                .thenReturn(true);
         when(commentRepository.save(any(Comment.class))).thenReturn(comment);
 
         CommentDto createdCommentDto = itemService.createComment(author.getId(), commentDto, item.getId());
@@ -129,13 +143,14 @@ class ItemServiceTest {
         assertThat(createdCommentDto.getText(), equalTo(comment.getText()));
         assertThat(createdCommentDto.getAuthorName(), equalTo(author.getName()));
 
-        verify(userRepository, times(1)).findById(eq(author.getId()));
-        verify(itemRepository, times(1)).findById(eq(item.getId()));
-        verify(bookingRepository, times(1)).findAllByItemIdAndBookerIdAndEndBeforeAndStatus(
+        verify(userValidator, times(1)).getReference(eq(author.getId()));
+        verify(itemRepository, times(1)).existsById(eq(item.getId()));
+        verify(itemRepository, times(1)).getReferenceById(eq(item.getId()));
+        verify(bookingRepository, times(1)).existsByItemIdAndBookerIdAndEndBeforeAndStatus(
                 eq(item.getId()), eq(author.getId()), any(LocalDateTime.class), eq(StatusOfBooking.APPROVED)
         );
         verify(commentRepository, times(1)).save(any(Comment.class));
-        verifyNoMoreInteractions(itemRepository, userRepository, bookingRepository, commentRepository);
+        verifyNoMoreInteractions(itemRepository, userValidator, bookingRepository, commentRepository);
     }
 
     @Test
@@ -148,11 +163,11 @@ class ItemServiceTest {
         CommentDto commentDto = new CommentDto();
 
 
-        when(userRepository.findById(eq(author.getId()))).thenReturn(Optional.of(author));
-        when(itemRepository.findById(eq(item.getId()))).thenReturn(Optional.of(item));
-        when(bookingRepository.findAllByItemIdAndBookerIdAndEndBeforeAndStatus(
+        when(userValidator.getReference(eq(author.getId()))).thenReturn(author);
+        when(itemRepository.existsById(eq(item.getId()))).thenReturn(true);
+        when(bookingRepository.existsByItemIdAndBookerIdAndEndBeforeAndStatus(
                 eq(item.getId()), eq(author.getId()), any(LocalDateTime.class), any(StatusOfBooking.class)))
-                .thenReturn(Collections.emptyList());
+                .thenReturn(false);
 
         IncorrectException exception = assertThrows(
                 IncorrectException.class,
@@ -163,11 +178,11 @@ class ItemServiceTest {
         assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
         assertEquals("Нельзя оставить отзыв на вещь которую не бронировали", exception.getMessage());
 
-        verify(userRepository, times(1)).findById(eq(author.getId()));
-        verify(itemRepository, times(1)).findById(eq(item.getId()));
-        verify(bookingRepository, times(1)).findAllByItemIdAndBookerIdAndEndBeforeAndStatus(
+        verify(userValidator, times(1)).getReference(eq(author.getId()));
+        verify(itemRepository, times(1)).existsById(eq(item.getId()));
+        verify(bookingRepository, times(1)).existsByItemIdAndBookerIdAndEndBeforeAndStatus(
                 eq(item.getId()), eq(author.getId()), any(LocalDateTime.class), any(StatusOfBooking.class));
-        verifyNoMoreInteractions(itemRepository, userRepository, bookingRepository, commentRepository);
+        verifyNoMoreInteractions(itemRepository, userValidator, bookingRepository, commentRepository);
     }
 
     @Test
@@ -240,16 +255,12 @@ class ItemServiceTest {
         comment2.setItem(item);
         comment2.setAuthor(booker);
 
-        List<Comment> comments = List.of(comment1, comment2);
+        List<CommentView> comments = List.of(DataTest.commentView(comment1), DataTest.commentView(comment2));
 
         when(itemRepository.findById(eq(item.getId()))).thenReturn(Optional.of(item));
+        when(itemRepository.findWithBookingsById(eq(item.getId()), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(itemWithBookings(item, lastBooking, nextBooking)));
         when(commentRepository.findAllByItemId(eq(item.getId()))).thenReturn(comments);
-        when(bookingRepository.findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(
-                eq(item.getId()), any(StatusOfBooking.class), any(LocalDateTime.class)))
-                .thenReturn(nextBooking);
-        when(bookingRepository.findFirstByItemIdAndStartBeforeOrderByStartDesc(
-                eq(item.getId()), any(LocalDateTime.class)))
-                .thenReturn(lastBooking);
 
         ItemDto itemDto = itemService.getById(item.getId(), owner.getId());
         assertThat(itemDto.getId(), equalTo(item.getId()));
@@ -271,13 +282,8 @@ class ItemServiceTest {
         assertThat(itemDto.getComments().get(1).getAuthorName(), equalTo(booker.getName()));
 
         verify(itemRepository, times(1)).findById(eq(item.getId()));
+        verify(itemRepository, times(1)).findWithBookingsById(eq(item.getId()), any(LocalDateTime.class));
         verify(commentRepository, times(1)).findAllByItemId(eq(item.getId()));
-        verify(bookingRepository, times(1)).findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(
-                eq(item.getId()), any(StatusOfBooking.class), any(LocalDateTime.class)
-        );
-        verify(bookingRepository, times(1)).findFirstByItemIdAndStartBeforeOrderByStartDesc(
-                eq(item.getId()), any(LocalDateTime.class)
-        );
         verifyNoMoreInteractions(itemRepository, bookingRepository, commentRepository);
     }
 
@@ -305,7 +311,7 @@ class ItemServiceTest {
         Comment comment2 = DataTest.testComment2();
         comment2.setItem(item);
         comment2.setAuthor(booker);
-        List<Comment> comments = List.of(comment1, comment2);
+        List<CommentView> comments = List.of(DataTest.commentView(comment1), DataTest.commentView(comment2));
 
         when(itemRepository.findById(eq(item.getId()))).thenReturn(Optional.of(item));
         when(commentRepository.findAllByItemId(eq(item.getId()))).thenReturn(comments);
@@ -337,7 +343,7 @@ class ItemServiceTest {
     void getBySearchTest() {
         Item item1 = DataTest.testItem1();
         Item item2 = DataTest.testItem2();
-        List<Item> items = List.of(item1, item2);
+        List<ItemView> items = List.of(DataTest.itemView(item1), DataTest.itemView(item2));
 
         String search = "школы волка";
 
@@ -360,6 +366,43 @@ class ItemServiceTest {
         verifyNoMoreInteractions(itemRepository);
     }
 
+    @Test
+    void getBySearchFromIndexTest() {
+        ItemDto itemDto = ItemMapper.fromItemToDto(DataTest.testItem1());
+        String search = "школы волка";
+
+        when(searchIndexProvider.getIfAvailable()).thenReturn(searchIndex);
+        when(searchIndex.isWarmedUp()).thenReturn(true);
+        when(searchIndex.canSearch(search)).thenReturn(true);
+        when(searchIndex.search(search, TestConstants.PAGEABLE)).thenReturn(List.of(itemDto));
+
+        List<ItemDto> itemDtoList = itemService.getBySearch(search, TestConstants.PAGEABLE);
+        assertThat(itemDtoList, equalTo(List.of(itemDto)));
+
+        verifyNoInteractions(itemRepository);
+    }
+
+    /**
+     * Строку короче триграммы индекс не сужает, поэтому она ищется в БД
+     */
+    @Test
+    void getBySearchShortTextFromDatabaseTest() {
+        Item item = DataTest.testItem1();
+        String search = "ме";
+
+        when(searchIndexProvider.getIfAvailable()).thenReturn(searchIndex);
+        when(searchIndex.isWarmedUp()).thenReturn(true);
+        when(searchIndex.canSearch(search)).thenReturn(false);
+        when(itemRepository.findAllBySearch(eq(search), any(Pageable.class))).thenReturn(List.of(DataTest.itemView(item)));
+
+        List<ItemDto> itemDtoList = itemService.getBySearch(search, TestConstants.PAGEABLE);
+        assertThat(itemDtoList.size(), equalTo(1));
+        assertThat(itemDtoList.get(0).getId(), equalTo(item.getId()));
+
+        verify(searchIndex, never()).search(anyString(), any(Pageable.class));
+        verify(itemRepository, times(1)).findAllBySearch(eq(search), any(Pageable.class));
+    }
+
     @Test
     void getBySearchWithoutTextTest() {
         List<ItemDto> itemDtoList = itemService.getBySearch("", TestConstants.PAGEABLE);
@@ -376,7 +419,6 @@ class ItemServiceTest {
         item1.setOwner(owner);
         Item item2 = DataTest.testItem2();
         item2.setOwner(owner);
-        List<Item> items = List.of(item1, item2);
         List<Long> itemIds = List.of(item1.getId(), item2.getId());
 
         Booking lastBooking = DataTest.testLastBooking1();
@@ -386,7 +428,9 @@ class ItemServiceTest {
         Booking nextBooking = DataTest.testFutureBooking1();
         nextBooking.setBooker(booker);
         nextBooking.setItem(item1);
-        List<Booking> item1Bookings = List.of(lastBooking, nextBooking);
+        List<ItemWithBookings> items = List.of(
+                itemWithBookings(item1, lastBooking, nextBooking),
+                itemWithBookings(item2, null, null));
 
         Comment comment1 = DataTest.testComment1();
         comment1.setItem(item1);
@@ -395,10 +439,10 @@ class ItemServiceTest {
         Comment comment2 = DataTest.testComment2();
         comment2.setItem(item1);
         comment2.setAuthor(booker);
-        List<Comment> comments = List.of(comment1, comment2);
+        List<CommentView> comments = List.of(DataTest.commentView(comment1), DataTest.commentView(comment2));
 
-        when(itemRepository.findALLByOwnerIdOrderByIdAsc(eq(owner.getId()), any(Pageable.class))).thenReturn(items);
-        when(bookingRepository.findAllByItemIdIn(itemIds)).thenReturn(item1Bookings);
+        when(itemRepository.findAllWithBookingsByOwnerId(eq(owner.getId()), any(LocalDateTime.class),
+                any(Pageable.class))).thenReturn(items);
         when(commentRepository.findAllByItemIdIn(itemIds)).thenReturn(comments);
 
         List<ItemDto> itemDtoList = itemService.getAllByOwner(owner.getId(), TestConstants.PAGEABLE);
@@ -432,11 +476,10 @@ class ItemServiceTest {
 
         assertThat(itemDtoList.get(1).getComments().size(), equalTo(0));
 
-        verify(itemRepository, times(1))
-                .findALLByOwnerIdOrderByIdAsc(eq(owner.getId()), any(Pageable.class));
-        verify(bookingRepository, times(1)).findAllByItemIdIn(itemIds);
+        verify(itemRepository, times(1)).findAllWithBookingsByOwnerId(eq(owner.getId()),
+                any(LocalDateTime.class), any(Pageable.class));
         verify(commentRepository, times(1)).findAllByItemIdIn(itemIds);
-        verifyNoMoreInteractions(itemRepository, userRepository, bookingRepository, commentRepository);
+        verifyNoMoreInteractions(itemRepository, userValidator, bookingRepository, commentRepository);
     }
 
     @Test
@@ -444,6 +487,24 @@ class ItemServiceTest {
         itemService.deleteById(1);
 
         verify(itemRepository, times(1)).deleteById(eq(1L));
-        verifyNoMoreInteractions(itemRepository, userRepository, bookingRepository, commentRepository);
+        verifyNoMoreInteractions(itemRepository, userValidator, bookingRepository, commentRepository);
+    }
+
+    private ItemWithBookings itemWithBookings(Item item, Booking lastBooking, Booking nextBooking) {
+        Map<String, Object> values = new HashMap<>();
+        values.put("id", item.getId());
+        values.put("name", item.getName());
+        values.put("description", item.getDescription());
+        values.put("available", item.getAvailable());
+        values.put("ownerId", item.getOwner().getId());
+        if (lastBooking != null) {
+            values.put("lastBookingId", lastBooking.getId());
+            values.put("lastBookerId", lastBooking.getBooker().getId());
+        }
+        if (nextBooking != null) {
+            values.put("nextBookingId", nextBooking.getId());
+            values.put("nextBookerId", nextBooking.getBooker().getId());
+        }
+        return new SpelAwareProxyProjectionFactory().createProjection(ItemWithBookings.class, values);
     }
-}
\ No newline at end of file
+}
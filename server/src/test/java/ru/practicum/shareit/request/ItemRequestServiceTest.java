@@ -15,9 +15,10 @@ import ru.practicum.shareit.request.dto.RequestDtoOut;
 import ru.practicum.shareit.request.dto.RequestDtoWithItemsOut;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.request.repository.RequestView;
 import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserValidator;
 import ru.practicum.shareit.util.DataTest;
 import ru.practicum.shareit.util.TestConstants;
 
@@ -36,7 +37,7 @@ class ItemRequestServiceTest {
     @Mock
     ItemRequestRepository requestRepository;
     @Mock
-    UserRepository userRepository;
+    UserValidator userValidator;
 
     @Mock
     ItemRepository itemRepository;
@@ -50,16 +51,16 @@ class ItemRequestServiceTest {
         ItemRequest itemRequest = DataTest.testItemRequest1();
         RequestDtoIn requestDtoIn = new RequestDtoIn();
 
-        when(userRepository.findById(eq(user.getId()))).thenReturn(Optional.of(user));
+        when(userValidator.getReference(eq(user.getId()))).thenReturn(user);
         when(requestRepository.save(any(ItemRequest.class))).thenReturn(itemRequest);
 
         RequestDtoOut requestDtoOut = itemRequestService.createRequest(user.getId(), requestDtoIn);
         assertThat(requestDtoOut.getId(), equalTo(itemRequest.getId()));
         assertThat(requestDtoOut.getDescription(), equalTo(itemRequest.getDescription()));
 
-        verify(userRepository, times(1)).findById(eq(user.getId()));
+        verify(userValidator, times(1)).getReference(eq(user.getId()));
         verify(requestRepository, times(1)).save(any(ItemRequest.class));
-        verifyNoMoreInteractions(requestRepository, userRepository);
+        verifyNoMoreInteractions(requestRepository, userValidator);
     }
 
     @Test
@@ -71,10 +72,10 @@ class ItemRequestServiceTest {
         Item item = DataTest.testItem1();
         item.setOwner(owner);
         item.setItemRequest(itemRequest);
-
-        when(userRepository.findById(eq(requester.getId()))).thenReturn(Optional.of(requester));
-        when(requestRepository.findById(eq(itemRequest.getId()))).thenReturn(Optional.of(itemRequest));
-        when(itemRepository.findAllByItemRequestId(eq(itemRequest.getId()))).thenReturn(List.of(item));
+        when(requestRepository.findViewById(eq(itemRequest.getId())))
+                .thenReturn(Optional.of(DataTest.requestView(itemRequest)));
+        when(itemRepository.findAllByItemRequestId(eq(itemRequest.getId())))
+                .thenReturn(List.of(DataTest.itemView(item)));
 
         RequestDtoWithItemsOut requestDtoWithItemsOut = itemRequestService.getById(requester.getId(), itemRequest.getId());
 
@@ -87,10 +88,10 @@ class ItemRequestServiceTest {
         assertThat(requestDtoWithItemsOut.getItems().get(0).getAvailable(), equalTo(item.getAvailable()));
         assertThat(requestDtoWithItemsOut.getItems().get(0).getRequestId(), equalTo(item.getItemRequest().getId()));
 
-        verify(userRepository, times(1)).findById(eq(requester.getId()));
-        verify(requestRepository, times(1)).findById(eq(itemRequest.getId()));
+        verify(userValidator, times(1)).checkExists(eq(requester.getId()));
+        verify(requestRepository, times(1)).findViewById(eq(itemRequest.getId()));
         verify(itemRepository, times(1)).findAllByItemRequestId(eq(itemRequest.getId()));
-        verifyNoMoreInteractions(requestRepository, userRepository, itemRepository);
+        verifyNoMoreInteractions(requestRepository, userValidator, itemRepository);
     }
 
     @Test
@@ -111,13 +112,13 @@ class ItemRequestServiceTest {
         item2.setOwner(owner);
         item2.setItemRequest(itemRequest2);
 
-        List<ItemRequest> requestWithItemsList = List.of(itemRequest1, itemRequest2);
+        List<RequestView> requestWithItemsList = List.of(
+                DataTest.requestView(itemRequest1), DataTest.requestView(itemRequest2));
         assertThat(requestWithItemsList.size(), equalTo(2));
-
-        when(userRepository.findById(requester.getId())).thenReturn(Optional.of(requester));
         when(requestRepository.findAllByRequesterIdOrderByCreatedDesc(eq(requester.getId()), any(Pageable.class)))
                 .thenReturn(requestWithItemsList);
-        when(itemRepository.findAllByItemRequestIdIn(anyList())).thenReturn(List.of(item1, item2));
+        when(itemRepository.findAllByItemRequestIdIn(anyList())).thenReturn(
+                List.of(DataTest.itemView(item1), DataTest.itemView(item2)));
 
         List<RequestDtoWithItemsOut> requestDtoWithItemsOutList = itemRequestService
                 .getAllByOwner(requester.getId(), TestConstants.PAGEABLE);
@@ -140,11 +141,11 @@ class ItemRequestServiceTest {
         assertThat(requestDtoWithItemsOutList.get(1).getItems().get(0).getAvailable(), equalTo(item2.getAvailable()));
         assertThat(requestDtoWithItemsOutList.get(1).getItems().get(0).getRequestId(), equalTo(item2.getItemRequest().getId()));
 
-        verify(userRepository, times(1)).findById(eq(requester.getId()));
+        verify(userValidator, times(1)).checkExists(eq(requester.getId()));
         verify(requestRepository, times(1))
                 .findAllByRequesterIdOrderByCreatedDesc(eq(requester.getId()), any(Pageable.class));
         verify(itemRepository, times(1)).findAllByItemRequestIdIn(anyList());
-        verifyNoMoreInteractions(requestRepository, userRepository, itemRepository);
+        verifyNoMoreInteractions(requestRepository, userValidator, itemRepository);
     }
 
     @Test
@@ -165,13 +166,13 @@ class ItemRequestServiceTest {
         item2.setOwner(owner);
         item2.setItemRequest(itemRequest2);
 
-        List<ItemRequest> requestWithItemsList = List.of(itemRequest1, itemRequest2);
+        List<RequestView> requestWithItemsList = List.of(
+                DataTest.requestView(itemRequest1), DataTest.requestView(itemRequest2));
         assertThat(requestWithItemsList.size(), equalTo(2));
-
-        when(userRepository.findById(owner.getId())).thenReturn(Optional.of(requester));
         when(requestRepository.findAllByRequesterIdNotOrderByCreatedDesc(eq(owner.getId()), any(Pageable.class)))
                 .thenReturn(requestWithItemsList);
-        when(itemRepository.findAllByItemRequestIdIn(anyList())).thenReturn(List.of(item1, item2));
+        when(itemRepository.findAllByItemRequestIdIn(anyList())).thenReturn(
+                List.of(DataTest.itemView(item1), DataTest.itemView(item2)));
 
         List<RequestDtoWithItemsOut> requestDtoWithItemsOutList = itemRequestService
                 .getAll(owner.getId(), TestConstants.PAGEABLE);
@@ -194,10 +195,10 @@ class ItemRequestServiceTest {
         assertThat(requestDtoWithItemsOutList.get(1).getItems().get(0).getAvailable(), equalTo(item2.getAvailable()));
         assertThat(requestDtoWithItemsOutList.get(1).getItems().get(0).getRequestId(), equalTo(item2.getItemRequest().getId()));
 
-        verify(userRepository, times(1)).findById(eq(owner.getId()));
+        verify(userValidator, times(1)).checkExists(eq(owner.getId()));
         verify(requestRepository, times(1))
                 .findAllByRequesterIdNotOrderByCreatedDesc(eq(owner.getId()), any(Pageable.class));
         verify(itemRepository, times(1)).findAllByItemRequestIdIn(anyList());
-        verifyNoMoreInteractions(requestRepository, userRepository, itemRepository);
+        verifyNoMoreInteractions(requestRepository, userValidator, itemRepository);
     }
 }
\ No newline at end of file
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.user;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.util.DataTest;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Кэш второго уровня и кэш запросов работают между транзакциями,
+ * поэтому каждый шаг теста выполняется в отдельной завершенной транзакции
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class UserCacheTest {
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    TransactionTemplate transaction;
+    Statistics statistics;
+    long userId;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        User user = DataTest.testUser1();
+        user.setId(null);
+        userId = transaction.execute(status -> userRepository.save(user).getId());
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transaction.executeWithoutResult(status -> userRepository.deleteAll());
+    }
+
+    @Test
+    void findByIdHitsCacheTest() {
+        transaction.executeWithoutResult(status -> userRepository.findById(userId));
+        long statements = statistics.getPrepareStatementCount();
+
+        User user = transaction.execute(status -> userRepository.findById(userId).orElseThrow());
+
+        assertThat(user.getName()).isEqualTo(DataTest.testUser1().getName());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+    }
+
+    @Test
+    void updateAndDeleteInvalidateCacheTest() {
+        transaction.executeWithoutResult(status -> userRepository.findById(userId));
+
+        transaction.executeWithoutResult(status -> userRepository.findById(userId).orElseThrow().setName("Йеннифэр"));
+        String name = transaction.execute(status -> userRepository.findById(userId).orElseThrow().getName());
+        assertThat(name).isEqualTo("Йеннифэр");
+
+        transaction.executeWithoutResult(status -> userRepository.deleteById(userId));
+        Optional<User> deleted = transaction.execute(status -> userRepository.findById(userId));
+        assertThat(deleted).isEmpty();
+    }
+
+    @Test
+    void existsByIdUsesQueryCacheTest() {
+        assertThat(exists()).isTrue();
+        assertThat(exists()).isTrue();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+
+        transaction.executeWithoutResult(status -> userRepository.deleteById(userId));
+
+        assertThat(exists()).isFalse();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    private boolean exists() {
+        return Boolean.TRUE.equals(transaction.execute(status -> userRepository.existsById(userId)));
+    }
+}
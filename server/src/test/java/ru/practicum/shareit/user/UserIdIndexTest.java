@@ -0,0 +1,64 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.user.service.UserIdIndex;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserIdIndexTest {
+    private final UserIdIndex userIdIndex = new UserIdIndex();
+
+    @Test
+    void notWarmedUpIndexContainsNothingTest() {
+        userIdIndex.addAfterCommit(1L);
+
+        assertFalse(userIdIndex.isWarmedUp());
+        assertFalse(userIdIndex.contains(1L));
+    }
+
+    @Test
+    void addAndRemoveTest() {
+        userIdIndex.warmUp(() -> List.of(1L, 3L, 100_000L));
+
+        assertTrue(userIdIndex.isWarmedUp());
+        assertTrue(userIdIndex.contains(1L));
+        assertFalse(userIdIndex.contains(2L));
+        assertTrue(userIdIndex.contains(100_000L));
+
+        userIdIndex.addAfterCommit(2L);
+        userIdIndex.remove(3L);
+
+        assertTrue(userIdIndex.contains(2L));
+        assertFalse(userIdIndex.contains(3L));
+    }
+
+    @Test
+    void idsOutOfBitmapRangeAreNotIndexedTest() {
+        long largeId = Integer.MAX_VALUE + 1L;
+        userIdIndex.warmUp(() -> List.of(largeId));
+        userIdIndex.addAfterCommit(largeId);
+        userIdIndex.remove(-1L);
+
+        assertFalse(userIdIndex.contains(largeId));
+        assertFalse(userIdIndex.contains(-1L));
+    }
+
+    @Test
+    void usersRemovedBeforeWarmUpAreNotRestoredFromSnapshotTest() {
+        userIdIndex.remove(3L);
+        userIdIndex.warmUp(() -> {
+            List<Long> staleSnapshot = List.of(1L, 2L, 3L);
+            userIdIndex.remove(2L);
+            userIdIndex.addAfterCommit(4L);
+            return staleSnapshot;
+        });
+
+        assertTrue(userIdIndex.contains(1L));
+        assertFalse(userIdIndex.contains(2L));
+        assertFalse(userIdIndex.contains(3L));
+        assertTrue(userIdIndex.contains(4L));
+    }
+}
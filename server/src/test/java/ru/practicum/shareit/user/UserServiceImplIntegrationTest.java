@@ -0,0 +1,67 @@
+package ru.practicum.shareit.user;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.DataTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Без транзакции теста: при идентификаторах из последовательности INSERT может уйти в БД
+ * только при фиксации, и нарушение уникальности email должно проявиться внутри сервиса
+ */
+@SpringBootTest
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class UserServiceImplIntegrationTest {
+    @Autowired
+    UserService userService;
+    @Autowired
+    UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void createUserWithDuplicateEmailTest() {
+        userService.createUser(newUserDto(DataTest.testUserDto1()));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> userService.createUser(newUserDto(DataTest.testUserDto1())));
+
+        assertThat(exception.getStatus()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(userRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void updateUserWithDuplicateEmailTest() {
+        userService.createUser(newUserDto(DataTest.testUserDto1()));
+        UserDto second = userService.createUser(newUserDto(DataTest.testUserDto2()));
+        UserDto update = new UserDto();
+        update.setEmail(DataTest.testUserDto1().getEmail());
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> userService.updateUser(update, second.getId()));
+
+        assertThat(exception.getStatus()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(userService.getUserById(second.getId()).getEmail())
+                .isEqualTo(DataTest.testUserDto2().getEmail());
+    }
+
+    /* Шлюз не передает id при создании пользователя */
+    private static UserDto newUserDto(UserDto userDto) {
+        userDto.setId(0);
+        return userDto;
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.web.server.ResponseStatusException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserIdIndex;
 import ru.practicum.shareit.user.service.UserServiceImpl;
 import ru.practicum.shareit.util.DataTest;
 
@@ -31,6 +32,8 @@ import static org.mockito.Mockito.*;
 class UserServiceTest {
     @Mock
     UserRepository userRepository;
+    @Mock
+    UserIdIndex userIdIndex;
 
     @InjectMocks
     UserServiceImpl userService;
@@ -40,22 +43,23 @@ class UserServiceTest {
         User user = DataTest.testUser1();
         UserDto dto = new UserDto();
 
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
         UserDto savedDto = userService.createUser(dto);
 
         assertThat(savedDto.getId(), equalTo(user.getId()));
         assertThat(savedDto.getName(), equalTo(user.getName()));
         assertThat(savedDto.getEmail(), equalTo(user.getEmail()));
 
-        verify(userRepository, times(1)).save(any(User.class));
-        verifyNoMoreInteractions(userRepository);
+        verify(userRepository, times(1)).saveAndFlush(any(User.class));
+        verify(userIdIndex, times(1)).addAfterCommit(eq(user.getId()));
+        verifyNoMoreInteractions(userRepository, userIdIndex);
     }
 
     @Test
     void createUserThrowExceptionTest() {
         UserDto dto = new UserDto();
 
-        when(userRepository.save(any(User.class)))
+        when(userRepository.saveAndFlush(any(User.class)))
                 .thenThrow(new DataIntegrityViolationException("DataIntegrityViolationException"));
 
         ResponseStatusException e = null;
@@ -68,7 +72,7 @@ class UserServiceTest {
         assertThat(e.getStatus(), equalTo(HttpStatus.CONFLICT));
         assertThat(e.getReason(), equalTo("Ошибка при создании пользователя"));
 
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(userRepository, times(1)).saveAndFlush(any(User.class));
         verifyNoMoreInteractions(userRepository);
     }
 
@@ -78,7 +82,7 @@ class UserServiceTest {
         UserDto dto = new UserDto();
 
         when(userRepository.findById(eq(user.getId()))).thenReturn(Optional.of(user));
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
 
         UserDto updatedDto = userService.updateUser(dto, user.getId());
 
@@ -87,7 +91,7 @@ class UserServiceTest {
         assertThat(updatedDto.getEmail(), equalTo(user.getEmail()));
 
         verify(userRepository, times(1)).findById(eq(user.getId()));
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(userRepository, times(1)).saveAndFlush(any(User.class));
         verifyNoMoreInteractions(userRepository);
     }
 
@@ -97,7 +101,7 @@ class UserServiceTest {
         User user = DataTest.testUser1();
 
         when(userRepository.findById(eq(user.getId()))).thenReturn(Optional.of(user));
-        when(userRepository.save(any(User.class)))
+        when(userRepository.saveAndFlush(any(User.class)))
                 .thenThrow(new DataIntegrityViolationException("DataIntegrityViolationException"));
 
         ResponseStatusException e = null;
@@ -110,7 +114,7 @@ class UserServiceTest {
         assertThat(e.getStatus(), equalTo(HttpStatus.CONFLICT));
         assertThat(e.getReason(), equalTo("Ошибка при обновлении пользователя"));
 
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(userRepository, times(1)).saveAndFlush(any(User.class));
         verifyNoMoreInteractions(userRepository);
     }
 
@@ -156,7 +160,8 @@ class UserServiceTest {
     void deleteUserById() {
         userService.deleteUserById(DataTest.userId);
 
+        verify(userIdIndex, times(1)).remove(ArgumentMatchers.eq(DataTest.userId));
         verify(userRepository, times(1)).deleteById(ArgumentMatchers.eq(DataTest.userId));
-        verifyNoMoreInteractions(userRepository);
+        verifyNoMoreInteractions(userRepository, userIdIndex);
     }
 }
\ No newline at end of file
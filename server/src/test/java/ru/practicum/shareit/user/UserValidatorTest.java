@@ -0,0 +1,63 @@
+package ru.practicum.shareit.user;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserIdIndex;
+import ru.practicum.shareit.user.service.UserValidator;
+import ru.practicum.shareit.util.DataTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class UserValidatorTest {
+    @Mock
+    UserRepository userRepository;
+    @Spy
+    UserIdIndex userIdIndex;
+
+    @InjectMocks
+    UserValidator userValidator;
+
+    @Test
+    void checkExistsTrustsIndexTest() {
+        userIdIndex.warmUp(() -> List.of(DataTest.userId));
+
+        userValidator.checkExists(DataTest.userId);
+
+        verifyNoInteractions(userRepository);
+    }
+
+    /**
+     * Пользователь мог быть удален на другом экземпляре сервера, поэтому ссылка для вставки
+     * выдается только после проверки в БД, даже если индекс знает пользователя
+     */
+    @Test
+    void getReferenceChecksDatabaseEvenIfIndexedTest() {
+        userIdIndex.warmUp(() -> List.of(DataTest.userId));
+        when(userRepository.existsById(DataTest.userId)).thenReturn(false);
+
+        NotFoundException exception = assertThrows(
+                NotFoundException.class,
+                () -> userValidator.getReference(DataTest.userId),
+                "Должно быть выброшено исключение"
+        );
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getHttpStatus());
+        verify(userRepository, times(1)).existsById(DataTest.userId);
+        verifyNoMoreInteractions(userRepository);
+    }
+}
@@ -4,15 +4,19 @@ import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.StatusOfBooking;
+import ru.practicum.shareit.booking.repository.BookingView;
 import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.comment.CommentDto;
+import ru.practicum.shareit.item.comment.CommentView;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoRequested;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemView;
 import ru.practicum.shareit.request.dto.RequestDtoIn;
 import ru.practicum.shareit.request.dto.RequestDtoOut;
 import ru.practicum.shareit.request.dto.RequestDtoWithItemsOut;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.RequestView;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
@@ -244,66 +248,6 @@ public class DataTest {
         return booking;
     }
 
-    /**
-     * @return бронь начинается и заканчивается во время уже имеющейся брони
-     */
-    public static Booking testCrossWithBookingDtoIn1() {
-        Booking booking = new Booking();
-        booking.setId(4L);
-        booking.setStatus(StatusOfBooking.APPROVED);
-        booking.setStart(time.plusHours(2));
-        booking.setEnd(time.plusHours(4));
-        return booking;
-    }
-
-    /**
-     * @return бронь начинается раньше, но заканчивается во время уже имеющейся брони
-     */
-    public static Booking testCrossWithBookingDtoIn2() {
-        Booking booking = new Booking();
-        booking.setId(5L);
-        booking.setStatus(StatusOfBooking.APPROVED);
-        booking.setStart(time);
-        booking.setEnd(time.plusHours(3));
-        return booking;
-    }
-
-    /**
-     * @return бронь начинается во время уже имеющейся брони раньше, но заканчивается позже
-     */
-    public static Booking testCrossWithBookingDtoIn3() {
-        Booking booking = new Booking();
-        booking.setId(6L);
-        booking.setStatus(StatusOfBooking.APPROVED);
-        booking.setStart(time.plusHours(4));
-        booking.setEnd(time.plusHours(6));
-        return booking;
-    }
-
-    /**
-     * @return бронь начинается одновременно с окончанием имеющейся брони
-     */
-    public static Booking testCrossWithBookingDtoIn4() {
-        Booking booking = new Booking();
-        booking.setId(7L);
-        booking.setStatus(StatusOfBooking.APPROVED);
-        booking.setStart(time);
-        booking.setEnd(time.plusHours(1));
-        return booking;
-    }
-
-    /**
-     * @return бронь заканчивается одновременно с началом уже имеющейся брони
-     */
-    public static Booking testCrossWithBookingDtoIn5() {
-        Booking booking = new Booking();
-        booking.setId(8L);
-        booking.setStatus(StatusOfBooking.APPROVED);
-        booking.setStart(time.plusHours(5));
-        booking.setEnd(time.plusHours(6));
-        return booking;
-    }
-
     public static Booking testFutureBooking2() {
         Booking booking = new Booking();
         booking.setId(5L);
@@ -354,4 +298,23 @@ public class DataTest {
         bookingDtoIn.setEnd(time.plusHours(2));
         return bookingDtoIn;
     }
+
+    public static BookingView bookingView(Booking booking) {
+        return new BookingView(booking.getId(), booking.getStart(), booking.getEnd(), booking.getItem().getId(),
+                booking.getItem().getName(), booking.getBooker().getId(), booking.getStatus());
+    }
+
+    public static ItemView itemView(Item item) {
+        Long requestId = item.getItemRequest() == null ? null : item.getItemRequest().getId();
+        return new ItemView(item.getId(), item.getName(), item.getDescription(), item.getAvailable(), requestId);
+    }
+
+    public static RequestView requestView(ItemRequest request) {
+        return new RequestView(request.getId(), request.getDescription(), request.getCreated());
+    }
+
+    public static CommentView commentView(Comment comment) {
+        return new CommentView(comment.getId(), comment.getItem().getId(), comment.getText(),
+                comment.getAuthor().getName(), comment.getCreated());
+    }
 }
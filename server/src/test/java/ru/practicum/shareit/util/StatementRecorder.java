@@ -0,0 +1,102 @@
+package ru.practicum.shareit.util;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Источник данных для тестов, запоминающий SQL каждого подготовленного запроса
+ * вместе с привязанными к нему параметрами, то есть ровно то, что Hibernate отправил в БД.
+ */
+public class StatementRecorder extends DelegatingDataSource {
+    private final List<RecordedStatement> statements = new CopyOnWriteArrayList<>();
+
+    public StatementRecorder(DataSource dataSource) {
+        super(dataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return record(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return record(super.getConnection(username, password));
+    }
+
+    public void clear() {
+        statements.clear();
+    }
+
+    public List<RecordedStatement> getStatements() {
+        return new ArrayList<>(statements);
+    }
+
+    private Connection record(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof PreparedStatement && args != null && args[0] instanceof String) {
+                        RecordedStatement statement = new RecordedStatement((String) args[0]);
+                        statements.add(statement);
+                        return record((PreparedStatement) result, statement);
+                    }
+                    return result;
+                });
+    }
+
+    private static PreparedStatement record(PreparedStatement preparedStatement, RecordedStatement statement) {
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("set") && args != null && args.length >= 2
+                            && args[0] instanceof Integer) {
+                        statement.parameters.put((Integer) args[0],
+                                method.getName().equals("setNull") ? null : args[1]);
+                    }
+                    return invoke(preparedStatement, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Подготовленный запрос: SQL и значения параметров по их номерам
+     */
+    public static class RecordedStatement {
+        private final String sql;
+        private final Map<Integer, Object> parameters = new TreeMap<>();
+
+        RecordedStatement(String sql) {
+            this.sql = sql;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public void bind(PreparedStatement preparedStatement) throws SQLException {
+            for (Map.Entry<Integer, Object> parameter : parameters.entrySet()) {
+                preparedStatement.setObject(parameter.getKey(), parameter.getValue());
+            }
+        }
+    }
+}